@@ -0,0 +1,76 @@
+package com.swiftcart.product_service.benchmark;
+
+import com.swiftcart.product_service.dto.CreateProductDTO;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.entity.ProductRatingSummary;
+import com.swiftcart.product_service.mapper.ProductMapperImpl;
+import com.swiftcart.product_service.mapper.RatingMapperImpl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {"phones", "laptops", "audio", "accessories", "wearables"};
+    private static final String[] COLORS = {"Black", "White", "Silver", "Blue", "Red"};
+
+    private BenchmarkData() {
+    }
+
+    static CreateProductDTO product(int index, int variantOptions) {
+        CreateProductDTO dto = new CreateProductDTO();
+        dto.setName("Benchmark product " + index);
+        dto.setDescription("Wireless smartphone accessory number " + index + " with fast charging and a two year warranty");
+        dto.setPrice(BigDecimal.valueOf(5 + (index * 37L) % 1500, 2).add(BigDecimal.TEN));
+        dto.setCategory(CATEGORIES[index % CATEGORIES.length]);
+        dto.setImageUrl("https://cdn.swiftcart.example/products/" + index + ".jpg");
+        dto.setVariants(variants(variantOptions));
+        return dto;
+    }
+
+    static Product productEntity(int index, int variantOptions) {
+        Product product = new ProductMapperImpl().toProductEntity(product(index, variantOptions));
+        product.setProductId((long) index);
+        return product;
+    }
+
+    /**
+     * The response a product read returns, with a rating summary attached.
+     */
+    static PagedProductResponseDTO productResponse(int index, int variantOptions) {
+        PagedProductResponseDTO product = new ProductMapperImpl().toPagedProductResponseDTO(productEntity(index, variantOptions));
+        ProductRatingSummary ratingSummary = new ProductRatingSummary();
+        ratingSummary.setProductId((long) index);
+        ratingSummary.setRatingCount(3);
+        ratingSummary.setRatingSum(13);
+        ratingSummary.setFourStarCount(2);
+        ratingSummary.setFiveStarCount(1);
+        product.setRatingSummary(new RatingMapperImpl().toRatingSummaryDTO(ratingSummary));
+        return product;
+    }
+
+    static List<PagedProductResponseDTO> productResponses(int count, int variantOptions) {
+        List<PagedProductResponseDTO> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(productResponse(i, variantOptions));
+        }
+        return products;
+    }
+
+    /**
+     * Builds a variants map in the catalog's {@code {attribute: {index: value}}} shape with the given number of options.
+     */
+    static Map<String, Object> variants(int options) {
+        Map<String, Object> variants = new LinkedHashMap<>();
+        for (int i = 0; i < options; i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) variants.computeIfAbsent("attribute" + (i % 16), key -> new LinkedHashMap<String, Object>());
+            values.put(String.valueOf(values.size() + 1), COLORS[i % COLORS.length] + "-" + i);
+        }
+        return variants;
+    }
+}
@@ -0,0 +1,57 @@
+package com.swiftcart.product_service.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the benchmarks matching the given pattern and writes JMH JSON results to
+ * {@code target/jmh-results/<commit>.json}, named after {@code -Dbenchmark.commit} or the current git commit,
+ * so two runs can be fed to {@link BenchmarkComparison}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Path resultDirectory = Path.of(System.getProperty("benchmark.results", "target/jmh-results"));
+        Files.createDirectories(resultDirectory);
+        Path resultFile = resultDirectory.resolve(commitId() + ".json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Benchmark results written to " + resultFile.toAbsolutePath());
+    }
+
+    private static String commitId() {
+        String commit = System.getProperty("benchmark.commit");
+        if (commit != null && !commit.isBlank()) {
+            return commit;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.waitFor() == 0 && !output.isEmpty()) {
+                return output;
+            }
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "local";
+    }
+}
@@ -0,0 +1,120 @@
+package com.swiftcart.product_service.benchmark;
+
+import com.swiftcart.product_service.dto.CreateProductDTO;
+import com.swiftcart.product_service.dto.CreateRatingDTO;
+import com.swiftcart.product_service.dto.CreateReviewDTO;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.dto.ReviewResponseDTO;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.entity.ProductRatingSummary;
+import com.swiftcart.product_service.entity.Rating;
+import com.swiftcart.product_service.entity.Review;
+import com.swiftcart.product_service.mapper.ProductMapper;
+import com.swiftcart.product_service.mapper.ProductMapperImpl;
+import com.swiftcart.product_service.mapper.RatingMapper;
+import com.swiftcart.product_service.mapper.RatingMapperImpl;
+import com.swiftcart.product_service.mapper.ReviewMapper;
+import com.swiftcart.product_service.mapper.ReviewMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "64"})
+    public int variantOptions;
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private final RatingMapper ratingMapper = new RatingMapperImpl();
+    private final ReviewMapper reviewMapper = new ReviewMapperImpl();
+
+    private CreateProductDTO createProduct;
+    private Product product;
+    private CreateRatingDTO createRating;
+    private Rating rating;
+    private ProductRatingSummary ratingSummary;
+    private CreateReviewDTO createReview;
+    private Review review;
+
+    @Setup
+    public void setUp() {
+        createProduct = BenchmarkData.product(42, variantOptions);
+        product = BenchmarkData.productEntity(42, variantOptions);
+
+        createRating = new CreateRatingDTO();
+        createRating.setCustomerId(7L);
+        createRating.setStarRating(4);
+        rating = ratingMapper.toCreateEntity(createRating);
+        rating.setRatingId(1L);
+        rating.setProduct(product);
+
+        ratingSummary = new ProductRatingSummary();
+        ratingSummary.setProductId(42L);
+        ratingSummary.setRatingCount(1_250);
+        ratingSummary.setRatingSum(4_711);
+        ratingSummary.setFourStarCount(700);
+        ratingSummary.setFiveStarCount(550);
+
+        createReview = new CreateReviewDTO();
+        createReview.setCustomerId(7L);
+        createReview.setReviewText("Solid battery life, the case scratches a little too easily.");
+        review = reviewMapper.toEntity(createReview, 42L);
+        review.setReviewId(1L);
+        review.setCreatedAt(LocalDateTime.now());
+        review.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toProductEntity(createProduct);
+    }
+
+    @Benchmark
+    public PagedProductResponseDTO productToPagedResponse() {
+        return productMapper.toPagedProductResponseDTO(product);
+    }
+
+    @Benchmark
+    public Rating ratingToEntity() {
+        return ratingMapper.toCreateEntity(createRating);
+    }
+
+    @Benchmark
+    public RatingResponseDTO ratingToResponse() {
+        return ratingMapper.toRatingResponseDTO(rating);
+    }
+
+    @Benchmark
+    public RatingSummaryDTO ratingSummaryToResponse() {
+        return ratingMapper.toRatingSummaryDTO(ratingSummary);
+    }
+
+    @Benchmark
+    public Review reviewToEntity() {
+        return reviewMapper.toEntity(createReview, 42L);
+    }
+
+    @Benchmark
+    public ReviewResponseDTO reviewToResponse() {
+        return reviewMapper.toResponseDTO(review);
+    }
+}
@@ -0,0 +1,55 @@
+package com.swiftcart.product_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.dto.ProductBatchResponseDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints the encoded size of the {@link SerializationBenchmark} payloads per wire format, raw and gzipped,
+ * relative to JSON.
+ */
+public final class PayloadSizeReport {
+
+    private static final String[] FORMATS = {"json", "smile", "cbor"};
+    private static final int[] VARIANT_OPTIONS = {0, 16, 1024};
+
+    private PayloadSizeReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-8s %-8s %-6s %10s %8s %10s %8s%n", "payload", "variants", "format", "bytes", "vs json", "gzip", "vs json");
+        for (int variantOptions : VARIANT_OPTIONS) {
+            report("product", variantOptions, BenchmarkData.productResponse(42, variantOptions));
+            report("batch", variantOptions, new ProductBatchResponseDTO(
+                    BenchmarkData.productResponses(SerializationBenchmark.BATCH_SIZE, variantOptions), List.of()));
+        }
+    }
+
+    private static void report(String payload, int variantOptions, Object value) throws IOException {
+        long json = 0;
+        long jsonGzip = 0;
+        for (String format : FORMATS) {
+            ObjectMapper mapper = SerializationBenchmark.mapper(format);
+            byte[] encoded = mapper.writeValueAsBytes(value);
+            long gzip = gzip(encoded).length;
+            if (format.equals("json")) {
+                json = encoded.length;
+                jsonGzip = gzip;
+            }
+            System.out.printf("%-8s %-8d %-6s %10d %7.2fx %10d %7.2fx%n", payload, variantOptions, format,
+                    encoded.length, (double) json / encoded.length, gzip, (double) jsonGzip / gzip);
+        }
+    }
+
+    private static byte[] gzip(byte[] encoded) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.swiftcart.product_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.config.BinaryFormatConfig;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductBatchResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of a product and of a batch response in each wire format the API negotiates.
+ * {@link PayloadSizeReport} prints the matching payload sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    static final int BATCH_SIZE = 50;
+
+    @Param({"0", "16", "1024"})
+    public int variantOptions;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private PagedProductResponseDTO product;
+    private ProductBatchResponseDTO batch;
+    private byte[] encodedProduct;
+    private byte[] encodedBatch;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = mapper(format);
+        product = BenchmarkData.productResponse(42, variantOptions);
+        batch = new ProductBatchResponseDTO(BenchmarkData.productResponses(BATCH_SIZE, variantOptions), List.of());
+        encodedProduct = objectMapper.writeValueAsBytes(product);
+        encodedBatch = objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public PagedProductResponseDTO deserializeProduct() throws IOException {
+        return objectMapper.readValue(encodedProduct, PagedProductResponseDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public ProductBatchResponseDTO deserializeBatch() throws IOException {
+        return objectMapper.readValue(encodedBatch, ProductBatchResponseDTO.class);
+    }
+
+    static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(BinaryFormatConfig.smileFactory()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package com.swiftcart.product_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.ProductServiceApplication;
+import com.swiftcart.product_service.cache.ProductListingIndex;
+import com.swiftcart.product_service.dto.CreateRatingDTO;
+import com.swiftcart.product_service.dto.CursorPageResponseDTO;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductListingFilter;
+import com.swiftcart.product_service.dto.ProductSearchResponseDTO;
+import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.service.ProductImportService;
+import com.swiftcart.product_service.service.ProductSearchService;
+import com.swiftcart.product_service.service.ProductService;
+import com.swiftcart.product_service.service.RatingService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the service layer against a throwaway embedded PostgreSQL with the real schema, so the numbers include
+ * Hibernate, the native queries and the JDBC round trips. Redis, Kafka and the product cache are switched off
+ * to keep the measurement on the database path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    /**
+     * Whether listing pages are answered by the in-memory listing index or by the database.
+     */
+    @Param({"false", "true"})
+    public boolean listingIndex;
+
+    private final AtomicLong customerIds = new AtomicLong();
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductSearchService productSearchService;
+    private RatingService ratingService;
+    private long firstProductId;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--product.cache.enabled=false",
+                        "--product.cache.redis-enabled=false",
+                        "--product.outbox.enabled=false",
+                        "--product.listing-index.enabled=" + listingIndex,
+                        "--management.otlp.metrics.export.enabled=false");
+        productService = context.getBean(ProductService.class);
+        productSearchService = context.getBean(ProductSearchService.class);
+        ratingService = context.getBean(RatingService.class);
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream feed = new ByteArrayOutputStream();
+        for (int i = 0; i < catalogSize; i++) {
+            objectMapper.writeValue(feed, BenchmarkData.product(i, 4));
+            feed.write('\n');
+        }
+        context.getBean(ProductImportService.class).importProducts(new ByteArrayInputStream(feed.toByteArray()), OutputStream.nullOutputStream());
+        if (listingIndex) {
+            awaitListingIndex();
+        }
+        firstProductId = productService.scrollProducts(1, "createdAt", "asc", null, null, null, null, null, null).getContent().get(0).getProductId();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public PagedProductResponseDTO getProductById() {
+        return productService.getProductById(randomProductId());
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<PagedProductResponseDTO> scrollProductsFirstPage() {
+        return productService.scrollProducts(20, "price", "asc", null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<PagedProductResponseDTO> scrollProductsByVariant() {
+        return productService.scrollProducts(20, "price", "asc", null, null, null, BigDecimal.valueOf(20), null,
+                List.of("attribute0:Black-0", "attribute1:White-1"));
+    }
+
+    @Benchmark
+    public Page<PagedProductResponseDTO> listProductsByCategory() {
+        return productService.getAllProducts(ThreadLocalRandom.current().nextInt(50), 20, "price", "desc", null,
+                null, BigDecimal.valueOf(20), List.of("phones"), null);
+    }
+
+    @Benchmark
+    public ProductSearchResponseDTO searchProducts() {
+        return productSearchService.searchProducts("wireless smartphone", List.of("phones"), null, null, null, 0, 20);
+    }
+
+    @Benchmark
+    public RatingSummaryDTO getRatingSummary() {
+        return ratingService.getRatingSummary(randomProductId());
+    }
+
+    @Benchmark
+    public RatingResponseDTO createRating() {
+        CreateRatingDTO dto = new CreateRatingDTO();
+        dto.setCustomerId(customerIds.incrementAndGet());
+        dto.setStarRating(1 + (int) (dto.getCustomerId() % 5));
+        return ratingService.createRating(dto, randomProductId());
+    }
+
+    /**
+     * The imported products reach the index in the background; waits until all of them are listed.
+     */
+    private void awaitListingIndex() {
+        ProductListingIndex index = context.getBean(ProductListingIndex.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (index.findPage(PageRequest.of(0, 1, Sort.by("price")), new ProductListingFilter())
+                .map(Page::getTotalElements).orElse(0L) < catalogSize) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Listing index did not load the imported catalog");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    private long randomProductId() {
+        return firstProductId + ThreadLocalRandom.current().nextInt(catalogSize);
+    }
+}
@@ -3,10 +3,14 @@ package com.swiftcart.product_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EntityScan("com.swiftcart.product_service.entity")
 @EnableJpaRepositories("com.swiftcart.product_service.repository")
+@ConfigurationPropertiesScan
+@EnableScheduling
 @SpringBootApplication
 public class ProductServiceApplication {
 
@@ -0,0 +1,85 @@
+package com.swiftcart.product_service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over 64-bit key hashes, using double hashing to derive the probe
+ * positions. Never yields false negatives for keys that were put; false positives occur at roughly the
+ * rate it was sized for.
+ */
+public class BloomFilter {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long insertions = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        bits = Math.min(Math.max(bits, 64), (long) Integer.MAX_VALUE << 6);
+        int hashes = (int) Math.max(1, Math.round((double) bits / insertions * ln2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(long keyHash) {
+        long h1 = mix(keyHash);
+        long h2 = mix(keyHash + GOLDEN_GAMMA) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(long keyHash) {
+        long h1 = mix(keyHash);
+        long h2 = mix(keyHash + GOLDEN_GAMMA) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, so the hash is stable across instances and JVMs.
+     */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public static long hash(long first, long second) {
+        return mix(first) * 31 + second;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
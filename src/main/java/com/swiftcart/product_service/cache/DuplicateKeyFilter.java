@@ -0,0 +1,201 @@
+package com.swiftcart.product_service.cache;
+
+import com.swiftcart.product_service.config.DuplicateKeyFilterProperties;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.repository.DuplicateKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory Bloom filters over product names and (productId, customerId) pairs of ratings and reviews, so
+ * create paths can skip their duplicate lookup when a key has definitely never been written. Filters are
+ * rebuilt from the database periodically to drop deleted keys. The unique constraints remain the source of
+ * truth: a key missing from a filter (not yet built, added by another instance) only costs a rejected insert.
+ */
+@Slf4j
+@Component
+public class DuplicateKeyFilter {
+
+    private final DuplicateKeyRepository duplicateKeyRepository;
+    private final DuplicateKeyFilterProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<DuplicateKeyType, Slot> slots = new EnumMap<>(DuplicateKeyType.class);
+    private final ConcurrentLinkedQueue<String> unpublished = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor;
+    private final boolean redisSync;
+
+    private final Timer rebuilds;
+
+    @Autowired
+    public DuplicateKeyFilter(DuplicateKeyRepository duplicateKeyRepository, DuplicateKeyFilterProperties properties,
+                              ObjectProvider<StringRedisTemplate> redisTemplate,
+                              ObjectProvider<RedisMessageListenerContainer> listenerContainer, MeterRegistry meterRegistry) {
+        this.duplicateKeyRepository = duplicateKeyRepository;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duplicate-key-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (DuplicateKeyType type : DuplicateKeyType.values()) {
+            String tag = type.name().toLowerCase();
+            slots.put(type, new Slot(
+                    meterRegistry.counter("product.duplicate-filter.checks", "type", tag, "result", "absent"),
+                    meterRegistry.counter("product.duplicate-filter.checks", "type", tag, "result", "present"),
+                    meterRegistry.counter("product.duplicate-filter.checks", "type", tag, "result", "false-positive")));
+        }
+        this.rebuilds = meterRegistry.timer("product.duplicate-filter.rebuild");
+
+        RedisMessageListenerContainer container = listenerContainer.getIfAvailable();
+        this.redisSync = properties.isEnabled() && properties.isRedisSyncEnabled() && this.redisTemplate != null && container != null;
+        if (redisSync) {
+            container.addMessageListener((message, pattern) -> receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(properties.getRedisChannel()));
+        }
+    }
+
+    public static long keyOf(String name) {
+        return BloomFilter.hash(name);
+    }
+
+    public static long keyOf(Long productId, Long customerId) {
+        return BloomFilter.hash(productId, customerId);
+    }
+
+    /**
+     * Runs the duplicate lookup only if the key may already exist.
+     */
+    public boolean isDuplicate(DuplicateKeyType type, long key, BooleanSupplier lookup) {
+        Slot slot = slots.get(type);
+        BloomFilter filter = slot.filter;
+        if (filter != null && !filter.mightContain(key)) {
+            slot.absent.increment();
+            return false;
+        }
+        boolean duplicate = lookup.getAsBoolean();
+        if (filter != null) {
+            (duplicate ? slot.present : slot.falsePositive).increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Records a written key; safe to call before commit since an extra key only causes a lookup.
+     */
+    public void add(DuplicateKeyType type, long key) {
+        addLocal(type, key);
+        if (redisSync) {
+            unpublished.add(type.ordinal() + ":" + key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long rebuildMillis = properties.getRebuildInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::rebuildAll, 0, rebuildMillis, TimeUnit.MILLISECONDS);
+        if (redisSync) {
+            long publishMillis = properties.getRedisPublishInterval().toMillis();
+            executor.scheduleWithFixedDelay(this::publish, publishMillis, publishMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    void rebuildAll() {
+        for (DuplicateKeyType type : DuplicateKeyType.values()) {
+            Slot slot = slots.get(type);
+            try {
+                long started = System.nanoTime();
+                long expected = Math.max(properties.getExpectedInsertions(), 2 * duplicateKeyRepository.estimateCount(type));
+                BloomFilter rebuilt = BloomFilter.create(expected, properties.getFalsePositiveRate());
+                slot.rebuilding = rebuilt;
+                duplicateKeyRepository.forEachKeyHash(type, rebuilt::put);
+                slot.filter = rebuilt;
+                rebuilds.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                log.debug("Rebuilt {} duplicate filter with {} bits", type, rebuilt.getBitCount());
+            } catch (RuntimeException e) {
+                log.warn("Rebuilding {} duplicate filter failed, keeping the previous one: {}", type, e.getMessage());
+            } finally {
+                slot.rebuilding = null;
+            }
+        }
+    }
+
+    private void addLocal(DuplicateKeyType type, long key) {
+        Slot slot = slots.get(type);
+        BloomFilter filter = slot.filter;
+        if (filter != null) {
+            filter.put(key);
+        }
+        BloomFilter rebuilding = slot.rebuilding;
+        if (rebuilding != null) {
+            rebuilding.put(key);
+        }
+    }
+
+    private void publish() {
+        StringBuilder message = new StringBuilder();
+        for (String entry = unpublished.poll(); entry != null; entry = unpublished.poll()) {
+            message.append(entry).append('\n');
+        }
+        if (message.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(properties.getRedisChannel(), message.toString());
+        } catch (RuntimeException e) {
+            log.debug("Publishing duplicate filter keys failed: {}", e.getMessage());
+        }
+    }
+
+    private void receive(String message) {
+        DuplicateKeyType[] types = DuplicateKeyType.values();
+        for (String entry : message.split("\n")) {
+            int separator = entry.indexOf(':');
+            if (separator > 0) {
+                addLocal(types[Integer.parseInt(entry, 0, separator, 10)], Long.parseLong(entry, separator + 1, entry.length(), 10));
+            }
+        }
+    }
+
+    private static final class Slot {
+        private volatile BloomFilter filter;
+        private volatile BloomFilter rebuilding;
+        private final Counter absent;
+        private final Counter present;
+        private final Counter falsePositive;
+
+        private Slot(Counter absent, Counter present, Counter falsePositive) {
+            this.absent = absent;
+            this.present = present;
+            this.falsePositive = falsePositive;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.swiftcart.product_service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column store of the listing fields, one row per product in product id order. Each sort key keeps
+ * a permutation of the rows in ascending (value, productId) order and each category a bitmap of its rows, so
+ * a page is read by walking a permutation instead of sorting. Changes produce a new snapshot.
+ */
+final class ListingSnapshot {
+
+    enum SortKey {
+        PRODUCT_ID("productId"),
+        PRICE("price"),
+        CREATED_AT("createdAt"),
+        AVERAGE_RATING(ProductListingIndex.AVERAGE_RATING);
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final int size;
+    private final long[] productIds;
+    private final long[][] columns;
+    private final int[][] orders;
+    private final int[] categories;
+    private final List<String> categoryNames;
+    private final Map<String, Integer> categoryIndex;
+    private final BitSet[] categoryRows;
+
+    private ListingSnapshot(int size, long[] productIds, long[][] columns, int[][] orders, int[] categories,
+                            List<String> categoryNames, Map<String, Integer> categoryIndex) {
+        this.size = size;
+        this.productIds = productIds;
+        this.columns = columns;
+        this.orders = orders;
+        this.categories = categories;
+        this.categoryNames = categoryNames;
+        this.categoryIndex = categoryIndex;
+        this.categoryRows = new BitSet[categoryNames.size()];
+        for (int category = 0; category < categoryRows.length; category++) {
+            categoryRows[category] = new BitSet(size);
+        }
+        for (int row = 0; row < size; row++) {
+            categoryRows[categories[row]].set(row);
+        }
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long productId) {
+        return Arrays.binarySearch(productIds, 0, size, productId) >= 0;
+    }
+
+    /**
+     * Rows of any of the given categories; unknown names match nothing.
+     */
+    BitSet categoryRows(Collection<String> names) {
+        BitSet rows = new BitSet(size);
+        for (String name : names) {
+            Integer category = categoryIndex.get(name);
+            if (category != null) {
+                rows.or(categoryRows[category]);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Number of rows in the category mask (all rows when null) priced within [minPrice, maxPrice].
+     */
+    long count(BitSet mask, long minPrice, long maxPrice) {
+        boolean priceFiltered = minPrice != Long.MIN_VALUE || maxPrice != Long.MAX_VALUE;
+        if (!priceFiltered) {
+            return mask == null ? size : mask.cardinality();
+        }
+        int[] byPrice = orders[SortKey.PRICE.ordinal()];
+        int from = lowerBound(SortKey.PRICE, minPrice);
+        int to = upperBound(SortKey.PRICE, maxPrice);
+        if (mask == null) {
+            return to - from;
+        }
+        long count = 0;
+        if (mask.cardinality() < to - from) {
+            long[] prices = columns[SortKey.PRICE.ordinal()];
+            for (int row = mask.nextSetBit(0); row >= 0; row = mask.nextSetBit(row + 1)) {
+                if (prices[row] >= minPrice && prices[row] <= maxPrice) {
+                    count++;
+                }
+            }
+        } else {
+            for (int position = from; position < to; position++) {
+                if (mask.get(byPrice[position])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Product ids of up to {@code limit} matching rows in sort order, after skipping {@code offset} matches.
+     */
+    long[] find(SortKey key, boolean ascending, BitSet mask, long minPrice, long maxPrice, long offset, int limit) {
+        int[] order = orders[key.ordinal()];
+        long[] prices = columns[SortKey.PRICE.ordinal()];
+        int from = 0;
+        int to = size;
+        boolean priceFiltered = minPrice != Long.MIN_VALUE || maxPrice != Long.MAX_VALUE;
+        if (key == SortKey.PRICE && priceFiltered) {
+            from = lowerBound(SortKey.PRICE, minPrice);
+            to = upperBound(SortKey.PRICE, maxPrice);
+            priceFiltered = false;
+        }
+        boolean filtered = mask != null || priceFiltered;
+        long[] found = new long[(int) Math.min(limit, Math.max(0, to - from))];
+        int count = 0;
+        long skipped = filtered ? 0 : offset;
+        for (long step = skipped; step < to - from && count < found.length; step++) {
+            int position = (int) (ascending ? from + step : to - 1 - step);
+            int row = order == null ? position : order[position];
+            if ((mask != null && !mask.get(row)) || (priceFiltered && (prices[row] < minPrice || prices[row] > maxPrice))) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            found[count++] = productIds[row];
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Replaces the rows of the changed products with {@code changes}; changed ids without a row are removed.
+     * Runs in linear time over the snapshot plus the sort of the changed rows.
+     */
+    ListingSnapshot patch(long[] changedIds, Builder changes) {
+        Arrays.sort(changedIds);
+        List<String> names = new ArrayList<>(categoryNames);
+        Map<String, Integer> index = new HashMap<>(categoryIndex);
+        int[] changedCategories = new int[changes.size];
+        for (int row = 0; row < changes.size; row++) {
+            String name = changes.categoryNames.get(changes.categories[row]);
+            changedCategories[row] = index.computeIfAbsent(name, added -> {
+                names.add(added);
+                return names.size() - 1;
+            });
+        }
+
+        int capacity = size + changes.size;
+        long[] mergedIds = new long[capacity];
+        long[][] mergedColumns = new long[columns.length][];
+        for (SortKey key : SortKey.values()) {
+            mergedColumns[key.ordinal()] = key == SortKey.PRODUCT_ID ? mergedIds : new long[capacity];
+        }
+        int[] mergedCategories = new int[capacity];
+        int[] remap = new int[size];
+        int[] inserted = new int[changes.size];
+        int merged = 0;
+        int row = 0;
+        int change = 0;
+        while (row < size || change < changes.size) {
+            if (change < changes.size && (row == size || changes.productIds[change] <= productIds[row])) {
+                if (row < size && changes.productIds[change] == productIds[row]) {
+                    remap[row++] = -1;
+                }
+                mergedIds[merged] = changes.productIds[change];
+                for (SortKey key : SortKey.values()) {
+                    if (key != SortKey.PRODUCT_ID) {
+                        mergedColumns[key.ordinal()][merged] = changes.columns[key.ordinal()][change];
+                    }
+                }
+                mergedCategories[merged] = changedCategories[change];
+                inserted[change++] = merged++;
+            } else if (Arrays.binarySearch(changedIds, productIds[row]) >= 0) {
+                remap[row++] = -1;
+            } else {
+                mergedIds[merged] = productIds[row];
+                for (SortKey key : SortKey.values()) {
+                    if (key != SortKey.PRODUCT_ID) {
+                        mergedColumns[key.ordinal()][merged] = columns[key.ordinal()][row];
+                    }
+                }
+                mergedCategories[merged] = categories[row];
+                remap[row++] = merged++;
+            }
+        }
+
+        int[][] mergedOrders = new int[orders.length][];
+        for (SortKey key : SortKey.values()) {
+            if (key != SortKey.PRODUCT_ID) {
+                mergedOrders[key.ordinal()] = mergeOrder(orders[key.ordinal()], remap, inserted, mergedColumns[key.ordinal()], merged);
+            }
+        }
+        return new ListingSnapshot(merged, mergedIds, mergedColumns, mergedOrders, mergedCategories, names, index);
+    }
+
+    /**
+     * First position in the key's order whose value is at least {@code value}.
+     */
+    private int lowerBound(SortKey key, long value) {
+        int[] order = orders[key.ordinal()];
+        long[] column = columns[key.ordinal()];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (column[order[middle]] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(SortKey key, long value) {
+        return value == Long.MAX_VALUE ? size : lowerBound(key, value + 1);
+    }
+
+    /**
+     * Carries the surviving rows of an old order over (their relative order is unchanged) and merges in the
+     * inserted rows sorted on their own.
+     */
+    private static int[] mergeOrder(int[] oldOrder, int[] remap, int[] inserted, long[] column, int size) {
+        int[] kept = new int[size];
+        int keptCount = 0;
+        for (int row : oldOrder) {
+            if (remap[row] >= 0) {
+                kept[keptCount++] = remap[row];
+            }
+        }
+        int[] added = sortedRows(inserted.clone(), column);
+        int[] order = new int[size];
+        int position = 0;
+        int left = 0;
+        int right = 0;
+        while (left < keptCount || right < added.length) {
+            if (right == added.length || (left < keptCount && compare(column, kept[left], added[right]) <= 0)) {
+                order[position++] = kept[left++];
+            } else {
+                order[position++] = added[right++];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Bottom-up merge sort of row numbers by (column value, row); rows are in product id order, so equal
+     * values come out by product id.
+     */
+    private static int[] sortedRows(int[] rows, long[] column) {
+        int[] source = rows;
+        int[] target = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int start = 0; start < rows.length; start += 2 * width) {
+                int middle = Math.min(start + width, rows.length);
+                int end = Math.min(start + 2 * width, rows.length);
+                int left = start;
+                int right = middle;
+                for (int position = start; position < end; position++) {
+                    if (right == end || (left < middle && compare(column, source[left], source[right]) <= 0)) {
+                        target[position] = source[left++];
+                    } else {
+                        target[position] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    private static int compare(long[] column, int leftRow, int rightRow) {
+        int byValue = Long.compare(column[leftRow], column[rightRow]);
+        return byValue != 0 ? byValue : Integer.compare(leftRow, rightRow);
+    }
+
+    /**
+     * Collects rows in product id order.
+     */
+    static final class Builder {
+        private int size;
+        private long[] productIds = new long[1024];
+        private final long[][] columns = new long[SortKey.values().length][];
+        private int[] categories = new int[1024];
+        private final List<String> categoryNames = new ArrayList<>();
+        private final Map<String, Integer> categoryIndex = new HashMap<>();
+
+        private Builder() {
+            for (SortKey key : SortKey.values()) {
+                columns[key.ordinal()] = key == SortKey.PRODUCT_ID ? productIds : new long[productIds.length];
+            }
+        }
+
+        void add(long productId, long priceCents, String category, long createdAtMicros, int averageRating) {
+            if (size == productIds.length) {
+                int capacity = size * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                for (SortKey key : SortKey.values()) {
+                    columns[key.ordinal()] = key == SortKey.PRODUCT_ID ? productIds : Arrays.copyOf(columns[key.ordinal()], capacity);
+                }
+                categories = Arrays.copyOf(categories, capacity);
+            }
+            productIds[size] = productId;
+            columns[SortKey.PRICE.ordinal()][size] = priceCents;
+            columns[SortKey.CREATED_AT.ordinal()][size] = createdAtMicros;
+            columns[SortKey.AVERAGE_RATING.ordinal()][size] = averageRating;
+            categories[size] = categoryIndex.computeIfAbsent(category, added -> {
+                categoryNames.add(added);
+                return categoryNames.size() - 1;
+            });
+            size++;
+        }
+
+        ListingSnapshot build() {
+            long[][] built = new long[columns.length][];
+            int[][] orders = new int[columns.length][];
+            long[] ids = Arrays.copyOf(productIds, size);
+            for (SortKey key : SortKey.values()) {
+                if (key == SortKey.PRODUCT_ID) {
+                    built[key.ordinal()] = ids;
+                } else {
+                    built[key.ordinal()] = Arrays.copyOf(columns[key.ordinal()], size);
+                    int[] rows = new int[size];
+                    Arrays.setAll(rows, row -> row);
+                    orders[key.ordinal()] = sortedRows(rows, built[key.ordinal()]);
+                }
+            }
+            return new ListingSnapshot(size, ids, built, orders, Arrays.copyOf(categories, size),
+                    new ArrayList<>(categoryNames), new HashMap<>(categoryIndex));
+        }
+    }
+}
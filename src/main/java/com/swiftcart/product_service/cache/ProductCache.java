@@ -0,0 +1,427 @@
+package com.swiftcart.product_service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.swiftcart.product_service.config.ProductCacheProperties;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ProductCache {
+
+    private final ProductCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, PagedProductResponseDTO> nearCache;
+    private final Cache<Long, ProductPayload> payloadCache;
+    private final ConcurrentMap<Long, CompletableFuture<PagedProductResponseDTO>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter coalescedLoads;
+    private final Counter invalidations;
+    private final Counter redisErrors;
+    private final Counter payloadHits;
+    private final Counter renders;
+
+    @Autowired
+    public ProductCache(ProductCacheProperties properties, StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearMaximumSize())
+                .expireAfter(new JitteredExpiry<PagedProductResponseDTO>())
+                .evictionListener((key, value, cause) -> meterRegistry.counter("product.cache.evictions", "cache", "product", "cause", cause.name().toLowerCase()).increment())
+                .build();
+        this.payloadCache = Caffeine.newBuilder()
+                .maximumWeight(properties.getPayloadMaximumSize().toBytes())
+                .weigher((Long key, ProductPayload value) -> value.getWeight())
+                .expireAfter(new JitteredExpiry<ProductPayload>())
+                .build();
+
+        this.nearHits = meterRegistry.counter("product.cache.hits", "cache", "product", "tier", "near");
+        this.redisHits = meterRegistry.counter("product.cache.hits", "cache", "product", "tier", "redis");
+        this.misses = meterRegistry.counter("product.cache.misses", "cache", "product");
+        this.coalescedLoads = meterRegistry.counter("product.cache.coalesced", "cache", "product");
+        this.invalidations = meterRegistry.counter("product.cache.evictions", "cache", "product", "cause", "invalidated");
+        this.redisErrors = meterRegistry.counter("product.cache.errors", "cache", "product", "tier", "redis");
+        this.payloadHits = meterRegistry.counter("product.cache.hits", "cache", "product", "tier", "payload");
+        this.renders = meterRegistry.counter("product.cache.renders", "cache", "product");
+        Gauge.builder("product.cache.size", nearCache, Cache::estimatedSize)
+                .tag("cache", "product")
+                .register(meterRegistry);
+        Gauge.builder("product.cache.payload.bytes", payloadCache, cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", "product")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads a missing product once per instance. An eviction drops the in-flight load, and each write is checked
+     * against it again afterwards, so a value loaded before a commit and written after its eviction is removed
+     * instead of outliving the change in Redis or the near cache.
+     */
+    public PagedProductResponseDTO get(Long id, Supplier<PagedProductResponseDTO> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        PagedProductResponseDTO cached = nearCache.getIfPresent(id);
+        if (cached != null) {
+            nearHits.increment();
+            return cached;
+        }
+
+        CompletableFuture<PagedProductResponseDTO> load = new CompletableFuture<>();
+        CompletableFuture<PagedProductResponseDTO> inFlight = inFlightLoads.putIfAbsent(id, load);
+        if (inFlight != null) {
+            coalescedLoads.increment();
+            return await(inFlight);
+        }
+
+        try {
+            PagedProductResponseDTO value = readRemote(id);
+            if (value != null) {
+                redisHits.increment();
+            } else {
+                misses.increment();
+                value = loader.get();
+                if (inFlightLoads.get(id) == load) {
+                    writeRemote(id, value);
+                    if (inFlightLoads.get(id) != load) {
+                        deleteRemote(List.of(id));
+                    }
+                }
+            }
+            if (inFlightLoads.get(id) == load) {
+                nearCache.put(id, value);
+                if (inFlightLoads.get(id) != load) {
+                    nearCache.asMap().remove(id, value);
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(id, load);
+        }
+    }
+
+    public PagedProductResponseDTO getIfPresent(Long id) {
+        return properties.isEnabled() ? nearCache.getIfPresent(id) : null;
+    }
+
+    public boolean isPreSerialized() {
+        return properties.isEnabled() && properties.isPreSerialized();
+    }
+
+    /**
+     * Serves the rendered response bytes; only a miss resolves the product through {@link #get} and renders it.
+     */
+    public ProductPayload getPayload(Long id, Supplier<PagedProductResponseDTO> loader) {
+        ProductPayload payload = payloadCache.getIfPresent(id);
+        if (payload != null) {
+            payloadHits.increment();
+            return payload;
+        }
+        return render(id, get(id, loader));
+    }
+
+    public ProductPayload getPayloadIfPresent(Long id) {
+        return isPreSerialized() ? payloadCache.getIfPresent(id) : null;
+    }
+
+    public Map<Long, ProductPayload> getAllPayloads(Collection<Long> ids, Function<Collection<Long>, Map<Long, PagedProductResponseDTO>> loader) {
+        Map<Long, ProductPayload> result = new HashMap<>(payloadCache.getAllPresent(ids));
+        payloadHits.increment(result.size());
+        List<Long> missing = ids.stream().filter(id -> !result.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            getAll(missing, loader).forEach((id, value) -> result.put(id, render(id, value)));
+        }
+        return result;
+    }
+
+    /**
+     * Renders with the application's {@link ObjectMapper}, so the bytes are exactly what the object path
+     * would send. The payload is only kept while the product it was rendered from is still the cached one;
+     * checking after the put closes the race with a concurrent eviction.
+     */
+    private ProductPayload render(Long id, PagedProductResponseDTO value) {
+        ProductPayload payload;
+        try {
+            payload = new ProductPayload(objectMapper.writeValueAsBytes(value), ResourceVersion.ofProduct(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to render product " + id, e);
+        }
+        renders.increment();
+        payloadCache.put(id, payload);
+        if (nearCache.getIfPresent(id) != value) {
+            payloadCache.asMap().remove(id, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * Resolves several products through the near cache, one Redis MGET and a single loader call for the rest.
+     * Ids that another caller is already loading are awaited rather than loaded twice. Ids that do not
+     * exist are absent from the result.
+     */
+    public Map<Long, PagedProductResponseDTO> getAll(Collection<Long> ids, Function<Collection<Long>, Map<Long, PagedProductResponseDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(ids);
+        }
+        Map<Long, PagedProductResponseDTO> result = new HashMap<>(nearCache.getAllPresent(ids));
+        nearHits.increment(result.size());
+
+        Map<Long, CompletableFuture<PagedProductResponseDTO>> owned = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<PagedProductResponseDTO>> awaited = new HashMap<>();
+        for (Long id : ids) {
+            if (result.containsKey(id) || owned.containsKey(id) || awaited.containsKey(id)) {
+                continue;
+            }
+            CompletableFuture<PagedProductResponseDTO> load = new CompletableFuture<>();
+            CompletableFuture<PagedProductResponseDTO> inFlight = inFlightLoads.putIfAbsent(id, load);
+            if (inFlight == null) {
+                owned.put(id, load);
+            } else {
+                coalescedLoads.increment();
+                awaited.put(id, inFlight);
+            }
+        }
+
+        try {
+            if (!owned.isEmpty()) {
+                Map<Long, PagedProductResponseDTO> remote = readRemote(owned.keySet());
+                redisHits.increment(remote.size());
+                List<Long> missing = owned.keySet().stream().filter(id -> !remote.containsKey(id)).toList();
+                Map<Long, PagedProductResponseDTO> loaded = Map.of();
+                if (!missing.isEmpty()) {
+                    misses.increment(missing.size());
+                    loaded = loader.apply(missing);
+                }
+                Map<Long, PagedProductResponseDTO> toWrite = new HashMap<>();
+                for (Map.Entry<Long, CompletableFuture<PagedProductResponseDTO>> entry : owned.entrySet()) {
+                    Long id = entry.getKey();
+                    PagedProductResponseDTO value = remote.containsKey(id) ? remote.get(id) : loaded.get(id);
+                    if (value == null) {
+                        entry.getValue().completeExceptionally(new ResourceNotFoundException("Product not available for this ID: " + id));
+                        continue;
+                    }
+                    if (inFlightLoads.get(id) == entry.getValue()) {
+                        nearCache.put(id, value);
+                        if (inFlightLoads.get(id) != entry.getValue()) {
+                            nearCache.asMap().remove(id, value);
+                        } else if (!remote.containsKey(id)) {
+                            toWrite.put(id, value);
+                        }
+                    }
+                    entry.getValue().complete(value);
+                    result.put(id, value);
+                }
+                writeRemote(toWrite);
+                deleteRemote(toWrite.keySet().stream().filter(id -> inFlightLoads.get(id) != owned.get(id)).toList());
+            }
+        } catch (RuntimeException e) {
+            owned.values().forEach(load -> load.completeExceptionally(e));
+            throw e;
+        } finally {
+            owned.forEach(inFlightLoads::remove);
+        }
+
+        awaited.forEach((id, inFlight) -> {
+            try {
+                result.put(id, await(inFlight));
+            } catch (ResourceNotFoundException e) {
+                // another caller found the product missing
+            }
+        });
+        return result;
+    }
+
+    public void evict(Long id) {
+        evictLocal(id);
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey(id));
+            redisTemplate.convertAndSend(properties.getInvalidationChannel(), id.toString());
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to evict product {} from Redis: {}", id, e.getMessage());
+        }
+    }
+
+    public void evictLocal(Long id) {
+        inFlightLoads.remove(id);
+        if (nearCache.asMap().remove(id) != null) {
+            invalidations.increment();
+        }
+        payloadCache.invalidate(id);
+    }
+
+    /**
+     * Runs first, so listeners that re-read the product after the commit never see the evicted entry.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getProductIds().forEach(this::evict);
+    }
+
+    private PagedProductResponseDTO readRemote(Long id) {
+        if (!properties.isRedisEnabled()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey(id));
+            return json == null ? null : objectMapper.readValue(json, PagedProductResponseDTO.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to read product {} from Redis: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<Long, PagedProductResponseDTO> readRemote(Collection<Long> ids) {
+        Map<Long, PagedProductResponseDTO> found = new HashMap<>();
+        if (!properties.isRedisEnabled()) {
+            return found;
+        }
+        List<Long> keyIds = List.copyOf(ids);
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keyIds.stream().map(this::redisKey).toList());
+            for (int i = 0; values != null && i < keyIds.size(); i++) {
+                if (values.get(i) != null) {
+                    found.put(keyIds.get(i), objectMapper.readValue(values.get(i), PagedProductResponseDTO.class));
+                }
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to read {} products from Redis: {}", keyIds.size(), e.getMessage());
+            found.clear();
+        }
+        return found;
+    }
+
+    private void writeRemote(Map<Long, PagedProductResponseDTO> values) {
+        if (!properties.isRedisEnabled() || values.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> serialized = new HashMap<>();
+            for (Map.Entry<Long, PagedProductResponseDTO> entry : values.entrySet()) {
+                serialized.put(redisKey(entry.getKey()), objectMapper.writeValueAsString(entry.getValue()));
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                serialized.forEach((key, json) -> stringConnection.pSetEx(key, jittered(properties.getRedisTtl()).toMillis(), json));
+                return null;
+            });
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to write {} products to Redis: {}", values.size(), e.getMessage());
+        }
+    }
+
+    private void writeRemote(Long id, PagedProductResponseDTO value) {
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(id), objectMapper.writeValueAsString(value), jittered(properties.getRedisTtl()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to write product {} to Redis: {}", id, e.getMessage());
+        }
+    }
+
+    private void deleteRemote(Collection<Long> ids) {
+        if (!properties.isRedisEnabled() || ids.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(ids.stream().map(this::redisKey).toList());
+        } catch (RuntimeException e) {
+            redisErrors.increment();
+            log.warn("Failed to remove {} stale products from Redis: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private String redisKey(Long id) {
+        return properties.getKeyPrefix() + id;
+    }
+
+    private Duration jittered(Duration ttl) {
+        double jitter = properties.getTtlJitter();
+        if (jitter <= 0) {
+            return ttl;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Duration.ofMillis(Math.max(1, (long) (ttl.toMillis() * factor)));
+    }
+
+    private static PagedProductResponseDTO await(CompletableFuture<PagedProductResponseDTO> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private class JitteredExpiry<V> implements Expiry<Long, V> {
+
+        @Override
+        public long expireAfterCreate(Long key, V value, long currentTime) {
+            return jittered(properties.getNearTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, V value, long currentTime, long currentDuration) {
+            return jittered(properties.getNearTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Long key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
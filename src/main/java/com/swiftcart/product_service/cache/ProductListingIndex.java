@@ -0,0 +1,212 @@
+package com.swiftcart.product_service.cache;
+
+import com.swiftcart.product_service.config.ListingIndexProperties;
+import com.swiftcart.product_service.config.ReadYourWrites;
+import com.swiftcart.product_service.dto.ProductListingFilter;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.repository.ProductListingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers product listing pages with ids from an in-memory {@link ListingSnapshot}, leaving only the
+ * hydration of the page to the product cache. Loaded in full at startup and every
+ * {@code product.listing-index.rebuild-interval}; committed changes on this instance (and those announced on
+ * the cache invalidation channel) are applied in the background shortly after. Queries it can not answer,
+ * or any query before the first load, return empty and go to the database.
+ */
+@Slf4j
+@Component
+public class ProductListingIndex {
+
+    /**
+     * Sort property only the index can answer.
+     */
+    public static final String AVERAGE_RATING = "averageRating";
+
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final ProductListingRepository productListingRepository;
+    private final ListingIndexProperties properties;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+    private volatile ListingSnapshot snapshot;
+    private volatile long[] applying = new long[0];
+
+    private final Counter indexQueries;
+    private final Counter databaseQueries;
+    private final Counter updatedProducts;
+    private final Timer rebuilds;
+
+    @Autowired
+    public ProductListingIndex(ProductListingRepository productListingRepository, ListingIndexProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.productListingRepository = productListingRepository;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-listing-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.indexQueries = meterRegistry.counter("product.listing-index.queries", "source", "index");
+        this.databaseQueries = meterRegistry.counter("product.listing-index.queries", "source", "database");
+        this.updatedProducts = meterRegistry.counter("product.listing-index.updates");
+        this.rebuilds = meterRegistry.timer("product.listing-index.rebuild");
+        meterRegistry.gauge("product.listing-index.size", this, index -> {
+            ListingSnapshot current = index.snapshot;
+            return current == null ? 0 : current.size();
+        });
+    }
+
+    /**
+     * The page of product ids in sort order with the total match count, or empty when the index is disabled,
+     * not loaded yet, or the query sorts by another field or filters by variant options.
+     */
+    public Optional<Page<Long>> findPage(Pageable pageable, ProductListingFilter filter) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        ListingSnapshot current = snapshot;
+        List<Sort.Order> orders = pageable.getSort().toList();
+        ListingSnapshot.SortKey key = orders.size() == 1 ? ListingSnapshot.SortKey.fromProperty(orders.get(0).getProperty()) : null;
+        if (current == null || key == null || !filter.getVariantOptions().isEmpty()) {
+            databaseQueries.increment();
+            return Optional.empty();
+        }
+
+        BitSet categories = filter.getCategories().isEmpty() ? null : current.categoryRows(filter.getCategories());
+        long minPrice = filter.getMinPrice() == null ? Long.MIN_VALUE : cents(filter.getMinPrice(), RoundingMode.CEILING);
+        long maxPrice = filter.getMaxPrice() == null ? Long.MAX_VALUE : cents(filter.getMaxPrice(), RoundingMode.FLOOR);
+        long total = current.count(categories, minPrice, maxPrice);
+        long[] ids = pageable.getOffset() >= total ? new long[0]
+                : current.find(key, orders.get(0).isAscending(), categories, minPrice, maxPrice, pageable.getOffset(), pageable.getPageSize());
+        indexQueries.increment();
+        return Optional.of(new PageImpl<>(Arrays.stream(ids).boxed().toList(), pageable, total));
+    }
+
+    /**
+     * Whether the loaded index shows that the product does not exist. Products with changes not applied yet
+     * count as present, and so does every product while the index is disabled or not loaded.
+     */
+    public boolean isKnownMissing(long productId) {
+        ListingSnapshot current = snapshot;
+        return properties.isEnabled() && current != null && !pending.contains(productId)
+                && Arrays.binarySearch(applying, productId) < 0 && !current.contains(productId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long rebuildMillis = properties.getRebuildInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::rebuild, 0, rebuildMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh(event.getProductIds());
+    }
+
+    /**
+     * Reloads the given products into the index after {@code product.listing-index.update-delay}.
+     */
+    public void refresh(Collection<Long> productIds) {
+        if (!properties.isEnabled() || !pending.addAll(productIds) || !updateScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.schedule(this::applyPending, properties.getUpdateDelay().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    void rebuild() {
+        try {
+            long started = System.nanoTime();
+            ListingSnapshot.Builder builder = ListingSnapshot.builder();
+            ReadYourWrites.onPrimary(() -> {
+                productListingRepository.forEachRow(builder::add);
+                return null;
+            });
+            snapshot = builder.build();
+            rebuilds.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            log.debug("Rebuilt product listing index with {} products", snapshot.size());
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding product listing index failed, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    private void applyPending() {
+        updateScheduled.set(false);
+        long[] ids = new long[pending.size()];
+        int count = 0;
+        for (Iterator<Long> pendingIds = pending.iterator(); pendingIds.hasNext() && count < ids.length; ) {
+            ids[count++] = pendingIds.next();
+        }
+        long[] changedIds = Arrays.copyOf(ids, count);
+        Arrays.sort(changedIds);
+        applying = changedIds;
+        for (long id : changedIds) {
+            pending.remove(id);
+        }
+        ListingSnapshot current = snapshot;
+        if (count == 0 || current == null) {
+            applying = new long[0];
+            return;
+        }
+        try {
+            ListingSnapshot.Builder changes = ListingSnapshot.builder();
+            ReadYourWrites.onPrimary(() -> {
+                productListingRepository.forEachRow(changedIds, changes::add);
+                return null;
+            });
+            snapshot = current.patch(changedIds, changes);
+            updatedProducts.increment(count);
+        } catch (RuntimeException e) {
+            log.warn("Updating {} products in the listing index failed, they are picked up by the next rebuild: {}", count, e.getMessage());
+        } finally {
+            applying = new long[0];
+        }
+    }
+
+    private static long cents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).max(MIN_CENTS).min(MAX_CENTS).longValueExact();
+    }
+}
@@ -0,0 +1,75 @@
+package com.swiftcart.product_service.cache;
+
+import com.swiftcart.product_service.dto.ResourceVersion;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A product response rendered once: the JSON bytes, their gzip encoding and the validators to send with them.
+ */
+@Getter
+public class ProductPayload {
+
+    private static final byte[] BATCH_CONTENT = "{\"content\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BATCH_NOT_FOUND = "],\"notFound\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BATCH_END = "]}".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final ResourceVersion version;
+
+    public ProductPayload(byte[] json, ResourceVersion version) {
+        this.json = json;
+        this.gzip = gzip(json);
+        this.version = version;
+    }
+
+    /**
+     * Writes the same document Jackson produces for a {@code ProductBatchResponseDTO}, splicing in the
+     * rendered products instead of serializing them again.
+     */
+    public static byte[] batch(Collection<ProductPayload> products, Collection<Long> notFound) {
+        int size = 32 + products.stream().mapToInt(product -> product.json.length + 1).sum() + notFound.size() * 20;
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(size);
+        batch.writeBytes(BATCH_CONTENT);
+        boolean first = true;
+        for (ProductPayload product : products) {
+            if (!first) {
+                batch.write(',');
+            }
+            batch.writeBytes(product.json);
+            first = false;
+        }
+        batch.writeBytes(BATCH_NOT_FOUND);
+        StringBuilder ids = new StringBuilder();
+        for (Long id : notFound) {
+            if (!ids.isEmpty()) {
+                ids.append(',');
+            }
+            ids.append(id);
+        }
+        batch.writeBytes(ids.toString().getBytes(StandardCharsets.US_ASCII));
+        batch.writeBytes(BATCH_END);
+        return batch.toByteArray();
+    }
+
+    int getWeight() {
+        return json.length + gzip.length;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
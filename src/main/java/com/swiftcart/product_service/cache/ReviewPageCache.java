@@ -0,0 +1,58 @@
+package com.swiftcart.product_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swiftcart.product_service.config.ReviewProperties;
+import com.swiftcart.product_service.dto.CursorPageResponseDTO;
+import com.swiftcart.product_service.dto.ReviewResponseDTO;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.event.ReviewChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+/**
+ * Caches the default-size first page of reviews per product. Loads go through {@link Cache#get}, so an
+ * invalidation that races a load waits for it and then removes the possibly stale result.
+ */
+@Component
+public class ReviewPageCache {
+
+    private final ReviewProperties properties;
+    private final Cache<Long, CursorPageResponseDTO<ReviewResponseDTO>> firstPages;
+
+    @Autowired
+    public ReviewPageCache(ReviewProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(properties.getFirstPageCacheMaximumSize())
+                .expireAfterWrite(properties.getFirstPageCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPages, "review.first-page");
+    }
+
+    public CursorPageResponseDTO<ReviewResponseDTO> getFirstPage(Long productId, Function<Long, CursorPageResponseDTO<ReviewResponseDTO>> loader) {
+        if (!properties.isFirstPageCacheEnabled()) {
+            return loader.apply(productId);
+        }
+        return firstPages.get(productId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        firstPages.invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getEventType() == ProductEventType.PRODUCT_DELETED) {
+            firstPages.invalidateAll(event.getProductIds());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.swiftcart.product_service.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile and CBOR encodings of every request and response body for service-to-service callers, selected with
+ * {@code Accept} / {@code Content-Type}. JSON stays first in the converter list, so it remains the default.
+ * Both mappers come from the application's builder and so follow the same Jackson settings as JSON.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    /**
+     * Also back-references repeated short string values, which batches and variant maps are full of.
+     */
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+}
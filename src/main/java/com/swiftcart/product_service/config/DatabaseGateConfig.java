@@ -0,0 +1,29 @@
+package com.swiftcart.product_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "product.db-gate", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseGateConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseGatePostProcessor(ObjectProvider<DatabaseGateProperties> properties,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource || bean instanceof ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                return GatedDataSource.gate(dataSource, "primary", properties.getObject(), meterRegistry.getObject());
+            }
+        };
+    }
+}
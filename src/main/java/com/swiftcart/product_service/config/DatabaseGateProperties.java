@@ -0,0 +1,25 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.db-gate")
+public class DatabaseGateProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Connections that may be checked out at once; 0 uses the Hikari maximum pool size.
+     */
+    private int maxConcurrent = 0;
+
+    /**
+     * How long a caller may queue for a permit before the request is rejected with 503.
+     */
+    private Duration queueTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,10 @@
+package com.swiftcart.product_service.config;
+
+import java.sql.SQLTransientConnectionException;
+
+public class DatabaseGateTimeoutException extends SQLTransientConnectionException {
+
+    public DatabaseGateTimeoutException(String message) {
+        super(message, "08001");
+    }
+}
@@ -0,0 +1,33 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.duplicate-filter")
+public class DuplicateKeyFilterProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Minimum capacity of each filter; a rebuild sizes it to at least twice the current row count.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveRate = 0.01;
+
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Publishes keys added on this instance through Redis so other instances see them before their next rebuild.
+     */
+    private boolean redisSyncEnabled = false;
+
+    private String redisChannel = "product-duplicate-filter";
+
+    private Duration redisPublishInterval = Duration.ofMillis(100);
+}
@@ -0,0 +1,123 @@
+package com.swiftcart.product_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many connections can be checked out at once with a fair semaphore. Callers beyond the limit
+ * park cheaply (virtual threads unmount while waiting) and give up with {@link DatabaseGateTimeoutException}
+ * once the queue timeout passes, instead of piling up inside the Hikari pool.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Duration queueTimeout;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public GatedDataSource(DataSource targetDataSource, String pool, int maxConcurrent, Duration queueTimeout, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeout = queueTimeout;
+        this.waitTimer = Timer.builder("product.db.gate.wait").tag("pool", pool).publishPercentileHistogram().register(meterRegistry);
+        this.rejections = meterRegistry.counter("product.db.gate.rejections", "pool", pool);
+        Gauge.builder("product.db.gate.queued", permits, Semaphore::getQueueLength).tag("pool", pool).register(meterRegistry);
+        Gauge.builder("product.db.gate.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits()).tag("pool", pool).register(meterRegistry);
+    }
+
+    /**
+     * Gates the data source with the configured limit, or the Hikari maximum pool size when the limit is 0;
+     * returns it unchanged when no limit applies.
+     */
+    public static DataSource gate(DataSource dataSource, String pool, DatabaseGateProperties properties, MeterRegistry meterRegistry) {
+        int maxConcurrent = properties.getMaxConcurrent();
+        if (maxConcurrent <= 0 && dataSource instanceof HikariDataSource hikari) {
+            // An unset size reads as -1 until the pool starts, then becomes Hikari's default
+            maxConcurrent = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        }
+        if (maxConcurrent <= 0) {
+            return dataSource;
+        }
+        return new GatedDataSource(dataSource, pool, maxConcurrent, properties.getQueueTimeout(), meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return gated(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return gated(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseGateTimeoutException("Interrupted while waiting for a database connection");
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejections.increment();
+            throw new DatabaseGateTimeoutException("No database connection available within " + queueTimeout.toMillis()
+                    + "ms (" + maxConcurrent + " in use, " + permits.getQueueLength() + " waiting)");
+        }
+    }
+
+    private Connection gated(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,28 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.listing-index")
+public class ListingIndexProperties {
+
+    /**
+     * Answer listing sorts and filters from an in-memory index instead of the database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often the index is reloaded in full, which also picks up changes made on other instances.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * How long changed products are collected before they are applied to the index together.
+     */
+    private Duration updateDelay = Duration.ofMillis(200);
+}
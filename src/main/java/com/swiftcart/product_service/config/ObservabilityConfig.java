@@ -0,0 +1,65 @@
+package com.swiftcart.product_service.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Backs the class-level {@code @Timed} on the services.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Exports Hibernate's session factory statistics; a no-op unless hibernate.generate_statistics is on.
+     */
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            counter(registry, statistics, "product.hibernate.entities.loads", Statistics::getEntityLoadCount);
+            counter(registry, statistics, "product.hibernate.entities.fetches", Statistics::getEntityFetchCount);
+            counter(registry, statistics, "product.hibernate.entities.inserts", Statistics::getEntityInsertCount);
+            counter(registry, statistics, "product.hibernate.entities.updates", Statistics::getEntityUpdateCount);
+            counter(registry, statistics, "product.hibernate.entities.deletes", Statistics::getEntityDeleteCount);
+            counter(registry, statistics, "product.hibernate.collections.fetches", Statistics::getCollectionFetchCount);
+            counter(registry, statistics, "product.hibernate.query.executions", Statistics::getQueryExecutionCount);
+            counter(registry, statistics, "product.hibernate.query.cache.hits", Statistics::getQueryCacheHitCount);
+            counter(registry, statistics, "product.hibernate.query.cache.misses", Statistics::getQueryCacheMissCount);
+            counter(registry, statistics, "product.hibernate.query.cache.puts", Statistics::getQueryCachePutCount);
+            counter(registry, statistics, "product.hibernate.second-level-cache.hits", Statistics::getSecondLevelCacheHitCount);
+            counter(registry, statistics, "product.hibernate.second-level-cache.misses", Statistics::getSecondLevelCacheMissCount);
+            counter(registry, statistics, "product.hibernate.flushes", Statistics::getFlushCount);
+            counter(registry, statistics, "product.hibernate.statements.prepared", Statistics::getPrepareStatementCount);
+            counter(registry, statistics, "product.hibernate.connections.obtained", Statistics::getConnectCount);
+            counter(registry, statistics, "product.hibernate.sessions.opened", Statistics::getSessionOpenCount);
+            counter(registry, statistics, "product.hibernate.transactions", Statistics::getTransactionCount);
+            counter(registry, statistics, "product.hibernate.optimistic-failures", Statistics::getOptimisticFailureCount);
+            Gauge.builder("product.hibernate.query.max-time", statistics, Statistics::getQueryExecutionMaxTime)
+                    .baseUnit("milliseconds")
+                    .description("Slowest HQL/JPQL query since startup; see getQueryExecutionMaxTimeQueryString")
+                    .register(registry);
+        };
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String name, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count).register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.observability")
+public class ObservabilityProperties {
+
+    /**
+     * Repository calls slower than this are logged with their row count.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    /**
+     * Per-repository overrides keyed by "RepositoryName" or "RepositoryName.method".
+     */
+    private Map<String, Duration> slowQueryThresholds = new HashMap<>();
+
+    /**
+     * Fraction of write requests logged at INFO by the controllers; all of them are logged at DEBUG.
+     */
+    private double requestLogSampleRate = 0.1;
+}
@@ -0,0 +1,75 @@
+package com.swiftcart.product_service.config;
+
+import com.swiftcart.product_service.cache.ProductCache;
+import com.swiftcart.product_service.cache.ProductListingIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "product.cache", name = "redis-enabled", havingValue = "true", matchIfMissing = true)
+public class ProductCacheConfig {
+
+    private static final long SUBSCRIBE_RETRY_SECONDS = 5;
+
+    @Bean
+    public RedisMessageListenerContainer productCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                          ProductCache productCache,
+                                                                          ProductListingIndex productListingIndex,
+                                                                          ProductCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            Long productId = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            productCache.evictLocal(productId);
+            productListingIndex.refresh(List.of(productId));
+        }, new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
+    }
+
+    /**
+     * Subscribes once the application is up and keeps retrying in the background, so an unavailable
+     * Redis degrades the cache to near-only instead of failing startup.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> productCacheInvalidationStarter(RedisMessageListenerContainer productCacheInvalidationListener) {
+        return event -> {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "product-cache-subscriber");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        productCacheInvalidationListener.start();
+                        executor.shutdown();
+                    } catch (RuntimeException e) {
+                        productCacheInvalidationListener.stop();
+                        log.warn("Product cache invalidation channel unavailable, retrying in {}s: {}", SUBSCRIBE_RETRY_SECONDS, e.getMessage());
+                        executor.schedule(this, SUBSCRIBE_RETRY_SECONDS, TimeUnit.SECONDS);
+                    }
+                }
+            });
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = true;
+
+    private long nearMaximumSize = 10_000;
+
+    private Duration nearTtl = Duration.ofSeconds(30);
+
+    private boolean redisEnabled = true;
+
+    private Duration redisTtl = Duration.ofMinutes(10);
+
+    private String keyPrefix = "product:v2:";
+
+    private String invalidationChannel = "product-cache-invalidation";
+
+    /**
+     * Fraction of the TTL added or removed at random so entries written together do not expire together.
+     */
+    private double ttlJitter = 0.1;
+
+    /**
+     * Serve single and batch product reads from rendered JSON (and gzip) bytes kept next to the near cache.
+     */
+    private boolean preSerialized = true;
+
+    private DataSize payloadMaximumSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Render changed products again right after the write commits instead of on the next read.
+     */
+    private boolean warmOnWrite = true;
+}
@@ -0,0 +1,16 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.export")
+public class ProductExportProperties {
+
+    /**
+     * Rows the JDBC cursor pulls per round trip; also how often the response is flushed.
+     */
+    private int fetchSize = 1_000;
+}
@@ -0,0 +1,16 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.import")
+public class ProductImportProperties {
+
+    /**
+     * Rows validated, de-duplicated and inserted per transaction.
+     */
+    private int chunkSize = 1_000;
+}
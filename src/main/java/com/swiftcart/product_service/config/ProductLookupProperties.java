@@ -0,0 +1,24 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.lookup")
+public class ProductLookupProperties {
+
+    private int maxBatchIds = 200;
+
+    private boolean coalesceEnabled = true;
+
+    /**
+     * How long the first single-id lookup waits for others to join its database round trip.
+     */
+    private Duration coalesceWindow = Duration.ofMillis(2);
+
+    private int coalesceMaxBatchSize = 100;
+}
@@ -0,0 +1,21 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.outbox")
+public class ProductOutboxProperties {
+
+    private boolean enabled = true;
+
+    private String topic = "product-events";
+
+    private int batchSize = 500;
+
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
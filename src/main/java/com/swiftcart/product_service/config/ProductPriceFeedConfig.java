@@ -0,0 +1,46 @@
+package com.swiftcart.product_service.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "product.price-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductPriceFeedConfig {
+
+    /**
+     * Batch listener with manual offset management: the container commits a poll's offsets only after the
+     * listener returns, i.e. after the database transaction has committed. A failed batch is redelivered
+     * with exponential backoff rather than skipped, so no price update is lost while the database is down.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> priceFeedListenerContainerFactory(KafkaProperties kafkaProperties,
+                                                                                                   ProductPriceFeedProperties properties) {
+        Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, properties.getGroupId());
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, properties.getMaxPollRecords());
+        consumerProperties.putIfAbsent(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(consumerProperties, new StringDeserializer(), new StringDeserializer()));
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(properties.getMaxRetryInterval().toMillis());
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
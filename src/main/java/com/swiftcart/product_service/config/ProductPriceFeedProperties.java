@@ -0,0 +1,28 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.price-feed")
+public class ProductPriceFeedProperties {
+
+    private boolean enabled = true;
+
+    private String topic = "product-price-updates";
+
+    private String groupId = "product-service-price-feed";
+
+    private int concurrency = 1;
+
+    private int maxPollRecords = 2000;
+
+    /**
+     * Upper bound for the backoff between redeliveries of a batch whose database write failed.
+     */
+    private Duration maxRetryInterval = Duration.ofSeconds(30);
+}
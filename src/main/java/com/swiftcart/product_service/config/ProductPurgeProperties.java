@@ -0,0 +1,27 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.purge")
+public class ProductPurgeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum rows removed per DELETE statement; each chunk commits on its own.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Pause between chunks, so a large purge does not saturate the database.
+     */
+    private Duration chunkPause = Duration.ofMillis(20);
+
+    private int productsPerRun = 100;
+}
@@ -0,0 +1,25 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.search")
+public class ProductSearchProperties {
+
+    private int maxPageSize = 100;
+
+    private int categoryFacetLimit = 20;
+
+    /**
+     * Upper bounds of the price facet buckets; the last bucket is open-ended.
+     */
+    private List<BigDecimal> priceRangeBounds = List.of(
+            new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"),
+            new BigDecimal("250"), new BigDecimal("500"), new BigDecimal("1000"));
+}
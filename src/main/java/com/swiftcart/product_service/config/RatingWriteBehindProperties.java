@@ -0,0 +1,31 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.ratings.write-behind")
+public class RatingWriteBehindProperties {
+
+    private boolean enabled = false;
+
+    private int stripes = 64;
+
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private int flushBatchSize = 2_000;
+
+    /**
+     * Once this many ratings are waiting, new ratings are written directly instead of growing the buffer.
+     */
+    private int maxPending = 100_000;
+
+    /**
+     * Flushes a rating may fail before it is dropped instead of re-queued.
+     */
+    private int maxFlushAttempts = 5;
+}
@@ -0,0 +1,157 @@
+package com.swiftcart.product_service.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to replica pools. The primary {@code spring.datasource} pool is wrapped in a
+ * {@link ReadWriteRoutingDataSource}; when the database gate is enabled every pool is gated on its own.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Declared with its concrete type so the container sees it is {@link Ordered} before instantiating it.
+     */
+    @Bean
+    public static RoutingPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReadReplicaProperties> properties,
+                                                                    ObjectProvider<DatabaseGateProperties> gateProperties,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RoutingPostProcessor(properties, gateProperties, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReadReplicaProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxProducts());
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesInterceptor(ReadYourWrites readYourWrites) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        Long productId = productIdOf(request);
+                        if (productId != null) {
+                            readYourWrites.pinIfRecentlyWritten(productId);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                        ReadYourWrites.unpin();
+                    }
+                }).addPathPatterns("/api/v1/products/**");
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long productIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return null;
+        }
+        String productId = variables.getOrDefault("productId", variables.get("id"));
+        try {
+            return productId == null ? null : Long.valueOf(productId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReadReplicaProperties> properties;
+        private final ObjectProvider<DatabaseGateProperties> gateProperties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private RoutingPostProcessor(ObjectProvider<ReadReplicaProperties> properties, ObjectProvider<DatabaseGateProperties> gateProperties,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.gateProperties = gateProperties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        /**
+         * Runs before the database gate post-processor, which leaves the routing data source alone.
+         */
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ReadReplicaProperties routing = properties.getObject();
+            if (routing.getReplicas().isEmpty()) {
+                throw new IllegalStateException("product.read-replicas.enabled is set but no product.read-replicas.replicas are configured");
+            }
+            MeterRegistry registry = meterRegistry.getObject();
+            DatabaseGateProperties gate = gateProperties.getObject();
+            List<AutoCloseable> pools = new ArrayList<>();
+            pools.add(primary);
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (ReadReplicaProperties.Replica replica : routing.getReplicas()) {
+                HikariDataSource pool = replicaPool(primary, replica, registry);
+                pools.add(pool);
+                replicas.put(replica.getName(), gate.isEnabled() ? GatedDataSource.gate(pool, replica.getName(), gate, registry) : pool);
+            }
+            DataSource gatedPrimary = gate.isEnabled() ? GatedDataSource.gate(primary, "primary", gate, registry) : primary;
+            ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(gatedPrimary, replicas, routing.getPolicy(),
+                    routing.isFallbackToPrimary(), routing.getRetryInterval(), registry);
+            ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(gatedPrimary, replicaRouting, pools);
+            dataSource.setDefaultAutoCommit(primary.isAutoCommit());
+            return dataSource;
+        }
+
+        /**
+         * Copies the primary's pool settings. The pool starts without waiting for the replica, so an unreachable
+         * replica does not fail startup; its reads fall back until it is back.
+         */
+        private static HikariDataSource replicaPool(HikariDataSource primary, ReadReplicaProperties.Replica replica, MeterRegistry registry) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName(replica.getName());
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+            }
+            if (replica.getMaximumPoolSize() > 0) {
+                config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            return new HikariDataSource(config);
+        }
+    }
+}
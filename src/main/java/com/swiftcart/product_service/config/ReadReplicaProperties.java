@@ -0,0 +1,61 @@
+package com.swiftcart.product_service.config;
+
+import com.swiftcart.product_service.enums.ReplicaSelectionPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    private ReplicaSelectionPolicy policy = ReplicaSelectionPolicy.LEAST_OUTSTANDING;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Serve reads from the primary when every replica fails to hand out a connection.
+     */
+    private boolean fallbackToPrimary = true;
+
+    /**
+     * How long a replica that failed to hand out a connection is skipped before it is tried again.
+     */
+    private Duration retryInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long reads of a product stay on the primary after a write to it through the API; 0 disables
+     * read-your-writes. Should cover the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    private long readYourWritesMaxProducts = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        /**
+         * Defaults to the primary's credentials when not set.
+         */
+        private String username;
+
+        private String password;
+
+        /**
+         * 0 uses the primary's maximum pool size.
+         */
+        private int maximumPoolSize = 0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.swiftcart.product_service.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Defers fetching a physical connection until the first statement, by which time a read-only transaction
+ * has flagged the connection read-only; those connections come from the replicas, everything else from the
+ * primary. Closes the pools it was built from on shutdown.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final List<AutoCloseable> pools;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replicas, List<AutoCloseable> pools) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.pools = pools;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (AutoCloseable pool : pools) {
+            pool.close();
+        }
+    }
+}
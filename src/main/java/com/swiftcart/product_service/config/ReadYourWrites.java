@@ -0,0 +1,75 @@
+package com.swiftcart.product_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.event.ReviewChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Remembers products written through the API on this instance, so the requests that read them shortly
+ * afterwards can be pinned to the primary instead of a replica that may not have the write yet. Writes
+ * from the price feed and other background work are not tracked.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> recentWrites;
+
+    public ReadYourWrites(Duration window, long maximumSize) {
+        this.recentWrites = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    /**
+     * Runs background work that must not read from a replica, such as rendering a product right after it changed.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (isPinnedToPrimary()) {
+            return work.get();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    boolean pinIfRecentlyWritten(Long productId) {
+        if (recentWrites == null || recentWrites.getIfPresent(productId) == null) {
+            return false;
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (recentWrites != null && RequestContextHolder.getRequestAttributes() != null) {
+            event.getProductIds().forEach(productId -> recentWrites.put(productId, Boolean.TRUE));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (recentWrites != null && RequestContextHolder.getRequestAttributes() != null) {
+            recentWrites.put(event.getProductId(), Boolean.TRUE);
+        }
+    }
+}
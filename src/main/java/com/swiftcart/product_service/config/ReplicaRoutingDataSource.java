@@ -0,0 +1,144 @@
+package com.swiftcart.product_service.config;
+
+import com.swiftcart.product_service.enums.ReplicaSelectionPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out read-only connections from the replica pools, picking the replica with the fewest connections
+ * currently checked out (ties rotate) or plain round robin. A replica that fails to connect is skipped for
+ * the retry interval; when no replica can serve the read it goes to the primary, unless that fallback is disabled.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReplicaSelectionPolicy policy;
+    private final boolean fallbackToPrimary;
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaSelectionPolicy policy,
+                                    boolean fallbackToPrimary, Duration retryInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.policy = policy;
+        this.fallbackToPrimary = fallbackToPrimary;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, meterRegistry)));
+        this.pinnedReads = meterRegistry.counter("product.db.route.reads", "pool", "primary", "reason", "read-your-writes");
+        this.fallbackReads = meterRegistry.counter("product.db.route.reads", "pool", "primary", "reason", "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        SQLException failure = null;
+        for (Replica replica : candidates()) {
+            try {
+                return replica.connect();
+            } catch (SQLException e) {
+                replica.failures.increment();
+                replica.skipUntil = System.nanoTime() + retryIntervalNanos;
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}", replica.name, retryIntervalNanos / 1_000_000, e.getMessage());
+                failure = e;
+            }
+        }
+        if (!fallbackToPrimary) {
+            throw failure != null ? failure : new SQLException("No read replica available");
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    private List<Replica> candidates() {
+        long now = System.nanoTime();
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (now - replica.skipUntil >= 0) {
+                available.add(replica);
+            }
+        }
+        if (available.size() > 1) {
+            Collections.rotate(available, -Math.floorMod(next.getAndIncrement(), available.size()));
+            if (policy == ReplicaSelectionPolicy.LEAST_OUTSTANDING) {
+                available.sort(Comparator.comparingInt(replica -> replica.outstanding.get()));
+            }
+        }
+        return available;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Counter reads;
+        private final Counter failures;
+        private volatile long skipUntil = System.nanoTime();
+
+        private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = meterRegistry.counter("product.db.route.reads", "pool", name, "reason", "replica");
+            this.failures = meterRegistry.counter("product.db.route.failures", "pool", name);
+            Gauge.builder("product.db.route.outstanding", outstanding, AtomicInteger::get).tag("pool", name).register(meterRegistry);
+        }
+
+        private Connection connect() throws SQLException {
+            outstanding.incrementAndGet();
+            Connection connection;
+            try {
+                connection = dataSource.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                outstanding.decrementAndGet();
+                throw e;
+            }
+            reads.increment();
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                outstanding.decrementAndGet();
+                            }
+                            return null;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
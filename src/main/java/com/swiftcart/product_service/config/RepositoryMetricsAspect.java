@@ -0,0 +1,139 @@
+package com.swiftcart.product_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Times every repository call, records how many rows it returned or touched and logs calls above the
+ * slow-query threshold, so a latency spike can be traced back to the query behind it.
+ */
+@Slf4j
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final ObservabilityProperties properties;
+    private final Map<String, QueryMeters> metersByQuery = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry, ObservabilityProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) "
+            + "|| (within(com.swiftcart.product_service.repository..*) && @within(org.springframework.stereotype.Repository))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            Timer.builder("product.repository.invocations")
+                    .tags("repository", repository, "method", method, "exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        QueryMeters meters = metersByQuery.computeIfAbsent(repository + "." + method, key -> new QueryMeters(repository, method));
+        meters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        long rows = rowCount(result);
+        if (rows >= 0) {
+            meters.rows.record(rows);
+        }
+        if (elapsed > meters.slowThresholdNanos) {
+            log.warn("Slow repository call {}.{} took {} ms, rows: {}", repository, method,
+                    Duration.ofNanos(elapsed).toMillis(), rows >= 0 ? rows : "n/a");
+        }
+        return result;
+    }
+
+    private static String repositoryName(Object target) {
+        if (target instanceof Advised advised && advised.getProxiedInterfaces().length > 0) {
+            return advised.getProxiedInterfaces()[0].getSimpleName();
+        }
+        return AopUtils.getTargetClass(target).getSimpleName();
+    }
+
+    /**
+     * Rows returned for reads and rows affected for modifying queries (int results); -1 when the result says
+     * nothing about rows, e.g. void, exists and count queries, streams.
+     */
+    private static long rowCount(Object result) {
+        if (result == null || result instanceof Boolean) {
+            return -1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        if (result instanceof Integer affected) {
+            return affected;
+        }
+        if (result instanceof Number || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private final class QueryMeters {
+        private final Timer timer;
+        private final DistributionSummary rows;
+        private final long slowThresholdNanos;
+
+        private QueryMeters(String repository, String method) {
+            this.timer = Timer.builder("product.repository.invocations")
+                    .tags("repository", repository, "method", method, "exception", "none")
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("product.repository.rows")
+                    .tags("repository", repository, "method", method)
+                    .register(meterRegistry);
+            Map<String, Duration> overrides = properties.getSlowQueryThresholds();
+            Duration threshold = overrides.getOrDefault(repository + "." + method,
+                    overrides.getOrDefault(repository, properties.getSlowQueryThreshold()));
+            this.slowThresholdNanos = threshold.toNanos();
+        }
+    }
+}
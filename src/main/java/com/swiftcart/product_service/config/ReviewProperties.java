@@ -0,0 +1,26 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.reviews")
+public class ReviewProperties {
+
+    private int pageSize = 10;
+
+    private int maxPageSize = 100;
+
+    private boolean firstPageCacheEnabled = true;
+
+    private long firstPageCacheMaximumSize = 50_000;
+
+    /**
+     * Bounds staleness on other instances; local writes invalidate immediately.
+     */
+    private Duration firstPageCacheTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,20 @@
+package com.swiftcart.product_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "product.updates.retry")
+public class UpdateRetryProperties {
+
+    private int maxAttempts = 5;
+
+    /**
+     * Base delay before re-running a conflicting update; attempt n waits up to n times this, jittered.
+     */
+    private Duration backoff = Duration.ofMillis(20);
+}
@@ -0,0 +1,44 @@
+package com.swiftcart.product_service.controller;
+
+import com.swiftcart.product_service.dto.ResourceVersion;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Smile and CBOR bodies are different bytes from the JSON one, so they get their own strong entity tag.
+ */
+@ControllerAdvice
+public class BinaryFormatETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String variant = ConditionalResponses.formatVariant(selectedContentType);
+        String eTag = response.getHeaders().getETag();
+        if (variant == null || eTag == null || !eTag.startsWith("\"") || eTag.endsWith(variant + "\"")) {
+            return body;
+        }
+        String tagged = new ResourceVersion(eTag.substring(1, eTag.length() - 1), -1).variant(variant).getETag();
+        // the not-modified checks leave the tag on the servlet response rather than in the entity headers
+        if (response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().containsHeader(HttpHeaders.ETAG)) {
+            servletResponse.getServletResponse().setHeader(HttpHeaders.ETAG, "\"" + tagged + "\"");
+        } else {
+            response.getHeaders().setETag(tagged);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,145 @@
+package com.swiftcart.product_service.controller;
+
+import com.swiftcart.product_service.cache.ProductPayload;
+import com.swiftcart.product_service.config.BinaryFormatConfig;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Evaluates If-None-Match / If-Modified-Since; when this returns true the 304 has already been prepared
+     * and the handler should return {@code null}.
+     */
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        String variant = formatVariant(request);
+        if (variant != null) {
+            version = version.variant(variant);
+        }
+        if (version.getLastModified() < 0) {
+            return request.checkNotModified(version.getETag());
+        }
+        return request.checkNotModified(version.getETag(), version.getLastModified());
+    }
+
+    static <T> ResponseEntity<T> ok(T body, ResourceVersion version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.getETag());
+        if (version.getLastModified() >= 0) {
+            builder.lastModified(version.getLastModified());
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Sends the rendered bytes as they are; the gzip variant carries its own entity tag.
+     */
+    static ResponseEntity<byte[]> ok(ProductPayload payload, boolean gzip) {
+        ResourceVersion version = gzip ? payload.getVersion().variant("gz") : payload.getVersion();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(version.getETag());
+        if (version.getLastModified() >= 0) {
+            builder.lastModified(version.getLastModified());
+        }
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? payload.getGzip() : payload.getJson());
+    }
+
+    /**
+     * The binary format the request's {@code Accept} header asks for, or {@code null} when it is JSON. Types are
+     * tried by quality and then specificity, as converter negotiation does, and wildcards resolve to JSON as the
+     * first registered converter.
+     */
+    static String formatVariant(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+        try {
+            List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(accepted);
+            for (MediaType type : accepted) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return null;
+                }
+                String variant = formatVariant(type);
+                if (variant != null) {
+                    return variant;
+                }
+            }
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            // negotiation rejects the request later
+        }
+        return null;
+    }
+
+    static String formatVariant(MediaType contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        if (BinaryFormatConfig.SMILE.isCompatibleWith(contentType)) {
+            return "smile";
+        }
+        if (BinaryFormatConfig.CBOR.isCompatibleWith(contentType)) {
+            return "cbor";
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} lists gzip, or failing that {@code *}, with a non-zero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality(parameters));
+            } else if (name.equals("*")) {
+                any = Math.max(any, quality(parameters));
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    /**
+     * The {@code q} parameter of a coding, 1 when absent; an unreadable value refuses the coding.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
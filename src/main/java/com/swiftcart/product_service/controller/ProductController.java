@@ -1,25 +1,50 @@
 package com.swiftcart.product_service.controller;
 
+import com.swiftcart.product_service.cache.ProductPayload;
 import com.swiftcart.product_service.dto.CreateProductDTO;
+import com.swiftcart.product_service.dto.CursorPageResponseDTO;
 import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductBatchResponseDTO;
 import com.swiftcart.product_service.dto.ProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductSearchResponseDTO;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import com.swiftcart.product_service.dto.UpdateProductDTO;
+import com.swiftcart.product_service.service.ProductExportService;
+import com.swiftcart.product_service.service.ProductImportService;
+import com.swiftcart.product_service.service.ProductSearchService;
 import com.swiftcart.product_service.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/products")
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductSearchService productSearchService;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ProductExportService productExportService, ProductSearchService productSearchService) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.productExportService = productExportService;
+        this.productSearchService = productSearchService;
     }
 
     @PostMapping
@@ -28,20 +53,93 @@ public class ProductController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, ProductImportService.NDJSON}, produces = ProductImportService.NDJSON)
+    public ResponseEntity<StreamingResponseBody> importProducts(HttpServletRequest request) {
+        StreamingResponseBody response = output -> productImportService.importProducts(request.getInputStream(), output);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping
     public ResponseEntity<Page<PagedProductResponseDTO>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "price") String sortBy,
-            @RequestParam(defaultValue = "asc") String direction) {
-        Page<PagedProductResponseDTO> response = productService.getAllProducts(page, size, sortBy, direction);
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) List<String> exclude,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> variant) {
+        Page<PagedProductResponseDTO> response = productService.getAllProducts(page, size, sortBy, direction, exclude, minPrice, maxPrice, category, variant);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDTO<PagedProductResponseDTO>> scrollProducts(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "price") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> exclude,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> variant) {
+        CursorPageResponseDTO<PagedProductResponseDTO> response = productService.scrollProducts(size, sortBy, direction, cursor, exclude, minPrice, maxPrice, category, variant);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponseDTO> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) List<String> variant,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        ProductSearchResponseDTO response = productSearchService.searchProducts(q, category, minPrice, maxPrice, variant, page, size);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsByIds(@RequestParam List<Long> ids, WebRequest request) {
+        if (productService.isPreSerialized() && ConditionalResponses.formatVariant(request) == null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(productService.getProductBatchPayload(ids));
+        }
+        ProductBatchResponseDTO response = productService.getProductsByIds(ids);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = ProductImportService.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = ConditionalResponses.acceptsGzip(acceptEncoding);
+        StreamingResponseBody response = output -> productExportService.exportProducts(output, gzip);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<PagedProductResponseDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id, WebRequest request,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<ResourceVersion> version = productService.getProductVersion(id);
+        if (productService.isPreSerialized() && ConditionalResponses.formatVariant(request) == null) {
+            boolean gzip = ConditionalResponses.acceptsGzip(acceptEncoding);
+            if (version.isPresent() && ConditionalResponses.isNotModified(request, gzip ? version.get().variant("gz") : version.get())) {
+                return null;
+            }
+            ProductPayload payload = productService.getProductPayload(id);
+            return ConditionalResponses.ok(payload, gzip);
+        }
+        if (version.isPresent() && ConditionalResponses.isNotModified(request, version.get())) {
+            return null;
+        }
         PagedProductResponseDTO response = productService.getProductById(id);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ConditionalResponses.ok(response, ResourceVersion.ofProduct(response));
     }
 
     @DeleteMapping("/{id}")
@@ -51,8 +149,9 @@ public class ProductController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<PagedProductResponseDTO> updateById(@PathVariable Long id, @Valid @RequestBody CreateProductDTO dto) {
-        PagedProductResponseDTO response = productService.updateById(id, dto);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<PagedProductResponseDTO> updateById(@PathVariable Long id, @Valid @RequestBody UpdateProductDTO dto,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PagedProductResponseDTO response = productService.updateById(id, dto, ifMatch);
+        return ConditionalResponses.ok(response, ResourceVersion.ofProduct(response));
     }
 }
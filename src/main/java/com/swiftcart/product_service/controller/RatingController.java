@@ -3,39 +3,87 @@ package com.swiftcart.product_service.controller;
 import com.swiftcart.product_service.dto.CreateRatingDTO;
 import com.swiftcart.product_service.dto.DeleteRatingDTO;
 import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.dto.RatingUpsertResult;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import com.swiftcart.product_service.enums.UpsertOutcome;
 import com.swiftcart.product_service.service.RatingService;
+import com.swiftcart.product_service.service.RatingWriteBehindBuffer;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Optional;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/products/{productId}/ratings")
 public class RatingController {
 
     private final RatingService ratingService;
+    private final ObjectProvider<RatingWriteBehindBuffer> ratingWriteBehindBuffer;
+    private final RequestLogSampler requestLogSampler;
 
     @Autowired
-    RatingController(RatingService ratingService) {
+    RatingController(RatingService ratingService, ObjectProvider<RatingWriteBehindBuffer> ratingWriteBehindBuffer,
+                     RequestLogSampler requestLogSampler) {
         this.ratingService = ratingService;
+        this.ratingWriteBehindBuffer = ratingWriteBehindBuffer;
+        this.requestLogSampler = requestLogSampler;
     }
 
     @PostMapping
     public ResponseEntity<RatingResponseDTO> createRating(@Valid @RequestBody CreateRatingDTO dto, @PathVariable Long productId) {
+        RatingWriteBehindBuffer buffer = ratingWriteBehindBuffer.getIfAvailable();
+        Optional<RatingResponseDTO> buffered = buffer == null ? Optional.empty() : buffer.submit(dto, productId);
+        if (buffered.isPresent()) {
+            return new ResponseEntity<>(buffered.get(), HttpStatus.ACCEPTED);
+        }
         RatingResponseDTO response = ratingService.createRating(dto, productId);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ResourceVersion.ofRating(response.getRatingId(), response.getVersion()).getETag())
+                .body(response);
+    }
+
+    @PutMapping
+    public ResponseEntity<RatingResponseDTO> upsertRating(@Valid @RequestBody CreateRatingDTO dto, @PathVariable Long productId) {
+        RatingUpsertResult result = ratingService.upsertRating(dto, productId);
+        RatingResponseDTO response = result.getRating();
+        return ResponseEntity.status(result.getOutcome() == UpsertOutcome.CREATED ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(ResourceVersion.ofRating(response.getRatingId(), response.getVersion()).getETag())
+                .body(response);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@PathVariable Long productId, WebRequest request) {
+        Optional<ResourceVersion> version = ratingService.getRatingSummaryVersion(productId);
+        if (version.isPresent() && ConditionalResponses.isNotModified(request, version.get())) {
+            return null;
+        }
+        RatingSummaryDTO response = ratingService.getRatingSummary(productId);
+        return ConditionalResponses.ok(response, ResourceVersion.ofRatingSummary(productId, response.getUpdatedAt()));
     }
 
     @PatchMapping("{ratingId}")
-    public ResponseEntity<RatingResponseDTO> updateRating(@Valid @RequestBody CreateRatingDTO dto, @PathVariable Long productId, @PathVariable Long ratingId) {
-        RatingResponseDTO response = ratingService.updateRating(dto, productId, ratingId);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<RatingResponseDTO> updateRating(@Valid @RequestBody CreateRatingDTO dto, @PathVariable Long productId, @PathVariable Long ratingId,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RatingResponseDTO response = ratingService.updateRating(dto, productId, ratingId, ifMatch);
+        return ConditionalResponses.ok(response, ResourceVersion.ofRating(response.getRatingId(), response.getVersion()));
     }
 
     @DeleteMapping("{ratingId}")
     public ResponseEntity<Void> deleteRating(@Valid @RequestBody DeleteRatingDTO dto, @PathVariable Long productId, @PathVariable Long ratingId) {
-        System.out.println("Request received to delete a StarRating for Product ID: "+productId+" Customer ID: "+dto.getCustomerId()+" Rating ID: "+ratingId);
+        requestLogSampler.sample(log)
+                .addKeyValue("productId", productId)
+                .addKeyValue("customerId", dto.getCustomerId())
+                .addKeyValue("ratingId", ratingId)
+                .log("Delete rating requested: product {}, rating {}", productId, ratingId);
         ratingService.deleteRating(dto, productId, ratingId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
@@ -0,0 +1,32 @@
+package com.swiftcart.product_service.controller;
+
+import com.swiftcart.product_service.config.ObservabilityProperties;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Returns a logging event for a sampled fraction of requests at INFO and for all of them at DEBUG,
+ * so request logs stay affordable under load without losing them when debugging.
+ */
+@Component
+class RequestLogSampler {
+
+    private final double sampleRate;
+
+    @Autowired
+    RequestLogSampler(ObservabilityProperties properties) {
+        this.sampleRate = properties.getRequestLogSampleRate();
+    }
+
+    LoggingEventBuilder sample(Logger log) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return log.atInfo().addKeyValue("sampleRate", sampleRate);
+        }
+        return log.atLevel(Level.DEBUG);
+    }
+}
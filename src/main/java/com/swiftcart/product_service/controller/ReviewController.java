@@ -1,39 +1,75 @@
 package com.swiftcart.product_service.controller;
 
 import com.swiftcart.product_service.dto.*;
+import com.swiftcart.product_service.enums.UpsertOutcome;
 import com.swiftcart.product_service.service.ReviewService;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/products/{productId}/reviews")
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final RequestLogSampler requestLogSampler;
 
     @Autowired
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, RequestLogSampler requestLogSampler) {
         this.reviewService = reviewService;
+        this.requestLogSampler = requestLogSampler;
     }
 
     @PostMapping
     public ResponseEntity<ReviewResponseDTO> createReview(@Valid @RequestBody CreateReviewDTO dto, @PathVariable Long productId) {
         ReviewResponseDTO response = reviewService.createReview(dto, productId);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ResourceVersion.ofReview(response.getReviewId(), response.getVersion()).getETag())
+                .body(response);
+    }
+
+    @PutMapping
+    public ResponseEntity<ReviewResponseDTO> upsertReview(@Valid @RequestBody CreateReviewDTO dto, @PathVariable Long productId) {
+        ReviewUpsertResult result = reviewService.upsertReview(dto, productId);
+        ReviewResponseDTO response = result.getReview();
+        return ResponseEntity.status(result.getOutcome() == UpsertOutcome.CREATED ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(ResourceVersion.ofReview(response.getReviewId(), response.getVersion()).getETag())
+                .body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPageResponseDTO<ReviewResponseDTO>> getReviews(@PathVariable Long productId,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            WebRequest request) {
+        CursorPageResponseDTO<ReviewResponseDTO> response = reviewService.getReviews(productId, size, cursor);
+        ResourceVersion version = ResourceVersion.ofReviewPage(productId, response);
+        if (ConditionalResponses.isNotModified(request, version)) {
+            return null;
+        }
+        return ConditionalResponses.ok(response, version);
     }
 
     @PatchMapping("/{reviewId}")
-    public ResponseEntity<ReviewResponseDTO> updateReview(@Valid @RequestBody CreateReviewDTO dto, @PathVariable Long productId, @PathVariable Long reviewId) {
-        ReviewResponseDTO response = reviewService.updateReview(dto, productId, reviewId);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<ReviewResponseDTO> updateReview(@Valid @RequestBody CreateReviewDTO dto, @PathVariable Long productId, @PathVariable Long reviewId,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ReviewResponseDTO response = reviewService.updateReview(dto, productId, reviewId, ifMatch);
+        return ConditionalResponses.ok(response, ResourceVersion.ofReview(response.getReviewId(), response.getVersion()));
     }
 
     @DeleteMapping("/{reviewId}")
     public ResponseEntity<Void> deleteReview(@Valid @RequestBody DeleteReviewDTO dto, @PathVariable Long productId, @PathVariable Long reviewId) {
-        System.out.println("Request received to delete a review for Product ID: "+productId+" Customer ID: "+dto.getCustomerId()+" Review ID: "+reviewId);
+        requestLogSampler.sample(log)
+                .addKeyValue("productId", productId)
+                .addKeyValue("customerId", dto.getCustomerId())
+                .addKeyValue("reviewId", reviewId)
+                .log("Delete review requested: product {}, review {}", productId, reviewId);
         reviewService.deleteReview(dto, productId, reviewId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
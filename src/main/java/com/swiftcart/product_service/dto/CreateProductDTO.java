@@ -31,4 +31,6 @@ public class CreateProductDTO {
 
     @NotEmpty(message = "Product image should not be empty")
     private String imageUrl;
+
+    private Boolean available;
 }
@@ -0,0 +1,15 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountDTO {
+    private String value;
+    private long count;
+}
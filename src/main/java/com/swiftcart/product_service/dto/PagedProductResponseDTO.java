@@ -1,10 +1,12 @@
 package com.swiftcart.product_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Getter
@@ -14,10 +16,18 @@ public class PagedProductResponseDTO {
 
     private Long productId;
     private String name;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     private BigDecimal price;
     private String category;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Map<String, Object> variants;
     private String imageUrl;
+    private Boolean available;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private RatingSummaryDTO ratingSummary;
 
 }
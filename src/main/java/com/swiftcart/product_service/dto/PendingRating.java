@@ -0,0 +1,19 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@RequiredArgsConstructor
+public class PendingRating {
+    private final Long productId;
+    private final Long customerId;
+    private final Integer starRating;
+
+    /**
+     * Flushes of this rating that failed so far.
+     */
+    @Setter
+    private int failedFlushes;
+}
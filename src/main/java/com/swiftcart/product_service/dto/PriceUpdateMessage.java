@@ -0,0 +1,23 @@
+package com.swiftcart.product_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Price and/or availability change from the pricing and inventory feeds; absent fields are left unchanged.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PriceUpdateMessage {
+    private Long productId;
+    private BigDecimal price;
+    private Boolean available;
+}
@@ -0,0 +1,17 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchResponseDTO {
+    private List<PagedProductResponseDTO> content;
+    private List<Long> notFound;
+}
@@ -0,0 +1,17 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCursor {
+    private String sortBy;
+    private String direction;
+    private String lastValue;
+    private Long lastProductId;
+}
@@ -0,0 +1,22 @@
+package com.swiftcart.product_service.dto;
+
+import com.swiftcart.product_service.enums.ProductEventType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductEventDTO {
+
+    private Long eventId;
+    private Long productId;
+    private ProductEventType eventType;
+    private Map<String, Object> eventData;
+    private OffsetDateTime timeStamp;
+
+}
@@ -0,0 +1,24 @@
+package com.swiftcart.product_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.swiftcart.product_service.enums.ProductImportStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportResultDTO {
+
+    private long index;
+    private ProductImportStatus status;
+    private Long productId;
+    private String name;
+    private String error;
+
+    public ProductImportResultDTO(long index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,23 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filters of the product listing and scroll endpoints; a product matches any listed category, and every
+ * variant option listed must be present.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductListingFilter {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private List<String> categories = List.of();
+    private Map<String, List<String>> variantOptions = Map.of();
+}
@@ -0,0 +1,20 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductSearchCriteria {
+    private String query;
+    private List<String> categories;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Map<String, List<String>> variantOptions;
+}
@@ -0,0 +1,19 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductSearchResponseDTO {
+    private List<PagedProductResponseDTO> content;
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<FacetCountDTO> categoryFacets;
+    private List<PriceRangeFacetDTO> priceFacets;
+}
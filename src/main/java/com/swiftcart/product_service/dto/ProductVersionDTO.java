@@ -0,0 +1,13 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ProductVersionDTO {
+    private final LocalDateTime productUpdatedAt;
+    private final LocalDateTime ratingSummaryUpdatedAt;
+}
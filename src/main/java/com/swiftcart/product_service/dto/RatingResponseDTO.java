@@ -1,5 +1,6 @@
 package com.swiftcart.product_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,4 +15,7 @@ public class RatingResponseDTO {
     private Long customerId;
     private Integer starRating;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
 }
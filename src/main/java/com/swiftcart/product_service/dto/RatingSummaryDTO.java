@@ -0,0 +1,25 @@
+package com.swiftcart.product_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RatingSummaryDTO {
+
+    private Long productId;
+    private long ratingCount;
+    private BigDecimal averageRating;
+    private Map<Integer, Long> distribution;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime updatedAt;
+
+}
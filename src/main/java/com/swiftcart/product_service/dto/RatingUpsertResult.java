@@ -0,0 +1,13 @@
+package com.swiftcart.product_service.dto;
+
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RatingUpsertResult {
+    private final RatingResponseDTO rating;
+    private final UpsertOutcome outcome;
+    private final Integer previousStarRating;
+}
@@ -0,0 +1,108 @@
+package com.swiftcart.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * Strong validator for a response representation. The entity tag changes whenever any timestamp that feeds
+ * the representation changes; {@code lastModified} is epoch millis, or -1 when there is no reliable value.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private static final String VARIANT_SEPARATOR = "-";
+
+    private final String eTag;
+    private final long lastModified;
+
+    public static ResourceVersion ofProduct(Long productId, LocalDateTime updatedAt, LocalDateTime ratingSummaryUpdatedAt) {
+        return new ResourceVersion("p" + productId + "." + micros(updatedAt) + "." + micros(ratingSummaryUpdatedAt),
+                epochMillis(latest(updatedAt, ratingSummaryUpdatedAt)));
+    }
+
+    public static ResourceVersion ofProduct(PagedProductResponseDTO product) {
+        return ofProduct(product.getProductId(), product.getUpdatedAt(),
+                product.getRatingSummary() == null ? null : product.getRatingSummary().getUpdatedAt());
+    }
+
+    public static ResourceVersion ofRatingSummary(Long productId, LocalDateTime updatedAt) {
+        return new ResourceVersion("rs" + productId + "." + micros(updatedAt), epochMillis(updatedAt));
+    }
+
+    public static ResourceVersion ofRating(Long ratingId, Long version) {
+        return new ResourceVersion("ra" + ratingId + "." + version, -1);
+    }
+
+    public static ResourceVersion ofReview(Long reviewId, Long version) {
+        return new ResourceVersion("re" + reviewId + "." + version, -1);
+    }
+
+    /**
+     * The validator of another encoding of the same state (gzip, Smile, CBOR), which as a different byte
+     * sequence needs its own strong tag.
+     */
+    public ResourceVersion variant(String variant) {
+        return new ResourceVersion(eTag + VARIANT_SEPARATOR + variant, lastModified);
+    }
+
+    /**
+     * Strong comparison against an If-Match header value, which may list several tags or be {@code *}.
+     * Tags of other encodings match too, since they encode the same state.
+     */
+    public boolean matches(String ifMatch) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals("\"" + eTag + "\"") || tag.startsWith("\"" + eTag + VARIANT_SEPARATOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deleting a review can move an older one onto the page, so review pages only get an entity tag.
+     */
+    public static ResourceVersion ofReviewPage(Long productId, CursorPageResponseDTO<ReviewResponseDTO> page) {
+        StringBuilder state = new StringBuilder().append(page.isHasNext());
+        for (ReviewResponseDTO review : page.getContent()) {
+            state.append(',').append(review.getReviewId()).append(':').append(micros(review.getUpdatedAt()));
+        }
+        return new ResourceVersion("rv" + productId + "." + digest(state.toString()), -1);
+    }
+
+    private static String micros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        return Long.toHexString(timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000);
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null || (second != null && second.isAfter(first))) {
+            return second;
+        }
+        return first;
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp == null ? -1 : timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String digest(String state) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
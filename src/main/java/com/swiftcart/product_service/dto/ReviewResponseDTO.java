@@ -1,5 +1,6 @@
 package com.swiftcart.product_service.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@AllArgsConstructor
 @NoArgsConstructor
 public class ReviewResponseDTO {
     private Long reviewId;
@@ -16,4 +18,5 @@ public class ReviewResponseDTO {
     private String reviewText;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
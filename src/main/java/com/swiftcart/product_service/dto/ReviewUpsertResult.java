@@ -0,0 +1,12 @@
+package com.swiftcart.product_service.dto;
+
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReviewUpsertResult {
+    private final ReviewResponseDTO review;
+    private final UpsertOutcome outcome;
+}
@@ -0,0 +1,38 @@
+package com.swiftcart.product_service.dto;
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Partial product update: null fields are left unchanged.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class UpdateProductDTO {
+
+    @Size(max = 250)
+    @Pattern(regexp = ".*\\S.*", message = "Product Name should not be blank")
+    private String name;
+
+    @Size(max = 1250)
+    @Pattern(regexp = "(?s).*\\S.*", message = "Product Description should not be blank")
+    private String description;
+
+    @Positive(message = "Product Price should always be positive numbers")
+    private BigDecimal price;
+
+    @Pattern(regexp = ".*\\S.*", message = "Product Category should not be blank")
+    private String category;
+
+    private Map<String, Object> variants;
+
+    @Size(min = 1, message = "Product image should not be empty")
+    private String imageUrl;
+
+    private Boolean available;
+}
@@ -4,8 +4,11 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
@@ -18,12 +21,20 @@ import java.util.Map;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = "uk_products_name", columnNames = "name"), indexes = {
+        @Index(name = "idx_products_price_product_id", columnList = "price, productId"),
+        @Index(name = "idx_products_name_product_id", columnList = "name, productId"),
+        @Index(name = "idx_products_created_at_product_id", columnList = "createdAt, productId"),
+        @Index(name = "idx_products_category", columnList = "category")
+})
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long productId;
 
     @Column(length = 125, nullable = false)
@@ -45,6 +56,10 @@ public class Product {
     @Column(nullable = false)
     private String imageUrl;
 
+    @ColumnDefault("true")
+    @Column(nullable = false)
+    private Boolean available = true;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -53,16 +68,20 @@ public class Product {
     @Column(updatable = true)
     private LocalDateTime updatedAt;
 
+    /**
+     * Set when the product is deleted; the row and its ratings and reviews are purged in the background.
+     */
+    @Column
+    private LocalDateTime deletedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Rating> ratings = new ArrayList<>();
 
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews = new ArrayList<>();
-
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<ProductEventLog> productEventLogs = new ArrayList<>();
-
-
-
-
 }
@@ -14,17 +14,19 @@ import java.util.Map;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "product_event_logs")
+@Table(name = "product_event_logs", indexes = {
+        @Index(name = "idx_product_event_logs_sent_event_id", columnList = "sent, eventId")
+})
 @Entity
 public class ProductEventLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_event_logs_seq")
+    @SequenceGenerator(name = "product_event_logs_seq", sequenceName = "product_event_logs_seq", allocationSize = 50)
     private Long eventId;
 
-    @ManyToOne()
-    @JoinColumn(name = "productId", nullable = false)
-    private Product product;
+    @Column(nullable = false)
+    private Long productId;
 
     @Enumerated(EnumType.ORDINAL)
     private ProductEventType eventType;
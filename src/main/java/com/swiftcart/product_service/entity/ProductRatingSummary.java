@@ -0,0 +1,44 @@
+package com.swiftcart.product_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "product_rating_summaries")
+@Entity
+public class ProductRatingSummary {
+
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private long ratingCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    @Column(nullable = false)
+    private long oneStarCount;
+
+    @Column(nullable = false)
+    private long twoStarCount;
+
+    @Column(nullable = false)
+    private long threeStarCount;
+
+    @Column(nullable = false)
+    private long fourStarCount;
+
+    @Column(nullable = false)
+    private long fiveStarCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+}
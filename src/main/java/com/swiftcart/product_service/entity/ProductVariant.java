@@ -0,0 +1,49 @@
+package com.swiftcart.product_service.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * One option of a product's {@code variants}, e.g. {@code color: Red}. Rows are derived from the jsonb column by a
+ * trigger created in schema.sql, so they are read-only here and exist for indexed filtering; responses keep
+ * serving the jsonb shape.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "product_variants", indexes = {
+        @Index(name = "idx_product_variants_attribute_value_product_id", columnList = "attribute, optionValue, productId")
+})
+@Entity
+@Immutable
+@IdClass(ProductVariant.Key.class)
+public class ProductVariant {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private String attribute;
+
+    @Id
+    private String optionKey;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String optionValue;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long productId;
+        private String attribute;
+        private String optionKey;
+    }
+}
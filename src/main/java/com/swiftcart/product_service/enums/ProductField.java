@@ -0,0 +1,27 @@
+package com.swiftcart.product_service.enums;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Product listing fields that callers may leave out of a response.
+ */
+public enum ProductField {
+    DESCRIPTION("description"),
+    VARIANTS("variants");
+
+    @Getter
+    private final String property;
+
+    ProductField(String property) {
+        this.property = property;
+    }
+
+    public static Optional<ProductField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+}
@@ -0,0 +1,8 @@
+package com.swiftcart.product_service.enums;
+
+public enum ProductImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,41 @@
+package com.swiftcart.product_service.enums;
+
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+public enum ProductSortField {
+    PRICE("price", PagedProductResponseDTO::getPrice, BigDecimal::new),
+    NAME("name", PagedProductResponseDTO::getName, value -> value),
+    CREATED_AT("createdAt", PagedProductResponseDTO::getCreatedAt, LocalDateTime::parse);
+
+    @Getter
+    private final String property;
+    private final Function<PagedProductResponseDTO, Object> extractor;
+    private final Function<String, Object> parser;
+
+    ProductSortField(String property, Function<PagedProductResponseDTO, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static Optional<ProductSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+
+    public String formatValue(PagedProductResponseDTO product) {
+        return extractor.apply(product).toString();
+    }
+
+    public Object parseValue(String value) {
+        return parser.apply(value);
+    }
+}
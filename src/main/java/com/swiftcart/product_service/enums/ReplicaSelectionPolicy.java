@@ -0,0 +1,6 @@
+package com.swiftcart.product_service.enums;
+
+public enum ReplicaSelectionPolicy {
+    LEAST_OUTSTANDING,
+    ROUND_ROBIN
+}
@@ -0,0 +1,7 @@
+package com.swiftcart.product_service.enums;
+
+public enum UpsertOutcome {
+    CREATED,
+    UPDATED,
+    UNCHANGED
+}
@@ -0,0 +1,20 @@
+package com.swiftcart.product_service.event;
+
+import com.swiftcart.product_service.enums.ProductEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private final Collection<Long> productIds;
+    private final ProductEventType eventType;
+
+    public ProductChangedEvent(Long productId, ProductEventType eventType) {
+        this(List.of(productId), eventType);
+    }
+}
@@ -0,0 +1,11 @@
+package com.swiftcart.product_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ReviewChangedEvent {
+
+    private final Long productId;
+}
@@ -0,0 +1,11 @@
+package com.swiftcart.product_service.mapper;
+
+import com.swiftcart.product_service.dto.ProductEventDTO;
+import com.swiftcart.product_service.entity.ProductEventLog;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ProductEventMapper {
+
+    ProductEventDTO toProductEventDTO(ProductEventLog productEventLog);
+}
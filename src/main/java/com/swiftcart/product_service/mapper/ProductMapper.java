@@ -3,21 +3,25 @@ package com.swiftcart.product_service.mapper;
 import com.swiftcart.product_service.dto.CreateProductDTO;
 import com.swiftcart.product_service.dto.PagedProductResponseDTO;
 import com.swiftcart.product_service.dto.ProductResponseDTO;
+import com.swiftcart.product_service.dto.UpdateProductDTO;
 import com.swiftcart.product_service.entity.Product;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-
-import java.util.Optional;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
+    @Mapping(target = "available", defaultValue = "true")
     Product toProductEntity(CreateProductDTO dto);
 
-    @Mapping(source = "id", target = "productId")
-    Product toUpdateEntity(CreateProductDTO dto, Long id);
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateProduct(UpdateProductDTO dto, @MappingTarget Product product);
 
     ProductResponseDTO toProductResponseDTO(Product product);
 
+    @Mapping(target = "ratingSummary", ignore = true)
     PagedProductResponseDTO toPagedProductResponseDTO(Product products);
 }
@@ -2,10 +2,17 @@ package com.swiftcart.product_service.mapper;
 
 import com.swiftcart.product_service.dto.CreateRatingDTO;
 import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.entity.ProductRatingSummary;
 import com.swiftcart.product_service.entity.Rating;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Mapper(componentModel = "spring")
 public interface RatingMapper {
 
@@ -13,4 +20,26 @@ public interface RatingMapper {
 
     @Mapping(source = "product.productId", target = "productId")
     RatingResponseDTO toRatingResponseDTO(Rating rating);
+
+    @Mapping(target = "averageRating", expression = "java(averageRating(summary))")
+    @Mapping(target = "distribution", expression = "java(distribution(summary))")
+    RatingSummaryDTO toRatingSummaryDTO(ProductRatingSummary summary);
+
+    default BigDecimal averageRating(ProductRatingSummary summary) {
+        if (summary.getRatingCount() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(summary.getRatingSum())
+                .divide(BigDecimal.valueOf(summary.getRatingCount()), 2, RoundingMode.HALF_UP);
+    }
+
+    default Map<Integer, Long> distribution(ProductRatingSummary summary) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, summary.getOneStarCount());
+        distribution.put(2, summary.getTwoStarCount());
+        distribution.put(3, summary.getThreeStarCount());
+        distribution.put(4, summary.getFourStarCount());
+        distribution.put(5, summary.getFiveStarCount());
+        return distribution;
+    }
 }
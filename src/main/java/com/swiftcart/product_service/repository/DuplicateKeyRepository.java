@@ -0,0 +1,58 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.cache.BloomFilter;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.LongConsumer;
+
+@Repository
+public class DuplicateKeyRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DuplicateKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Planner row estimate for the table behind the key type; cheap enough to size a filter with.
+     */
+    public long estimateCount(DuplicateKeyType type) {
+        Long estimate = jdbcTemplate.queryForObject("SELECT greatest(reltuples, 0)::bigint FROM pg_class WHERE oid = ?::regclass",
+                Long.class, tableName(type));
+        return estimate == null ? 0 : estimate;
+    }
+
+    /**
+     * Streams the hash of every existing key through a server-side cursor.
+     */
+    @Transactional(readOnly = true)
+    public void forEachKeyHash(DuplicateKeyType type, LongConsumer consumer) {
+        switch (type) {
+            case PRODUCT_NAME -> jdbcTemplate.query("SELECT name FROM products",
+                    resultSet -> {
+                        consumer.accept(BloomFilter.hash(resultSet.getString(1)));
+                    });
+            case RATING, REVIEW -> jdbcTemplate.query("SELECT product_id, customer_id FROM " + tableName(type),
+                    resultSet -> {
+                        consumer.accept(BloomFilter.hash(resultSet.getLong(1), resultSet.getLong(2)));
+                    });
+        }
+    }
+
+    private static String tableName(DuplicateKeyType type) {
+        return switch (type) {
+            case PRODUCT_NAME -> "products";
+            case RATING -> "ratings";
+            case REVIEW -> "reviews";
+        };
+    }
+}
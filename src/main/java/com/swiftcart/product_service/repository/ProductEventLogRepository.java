@@ -2,6 +2,21 @@ package com.swiftcart.product_service.repository;
 
 import com.swiftcart.product_service.entity.ProductEventLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+@Repository
 public interface ProductEventLogRepository extends JpaRepository<ProductEventLog, Long> {
+
+    @Query(value = "SELECT * FROM product_event_logs WHERE sent = false ORDER BY event_id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ProductEventLog> claimUnsentBatch(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("UPDATE ProductEventLog e SET e.sent = true WHERE e.eventId IN :eventIds")
+    int markSent(@Param("eventIds") Collection<Long> eventIds);
 }
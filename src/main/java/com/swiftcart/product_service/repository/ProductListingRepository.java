@@ -0,0 +1,63 @@
+package com.swiftcart.product_service.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+/**
+ * Reads the listing columns of live products already in the index's units: price in cents, createdAt in epoch
+ * microseconds and the average rating in hundredths, rounded like the rating summary.
+ */
+@Repository
+public class ProductListingRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_ROWS = """
+            SELECT p.product_id,
+                   (p.price * 100)::bigint,
+                   p.category,
+                   (extract(epoch FROM p.created_at) * 1000000)::bigint,
+                   coalesce(round(s.rating_sum * 100.0 / nullif(s.rating_count, 0)), 0)::int
+            FROM products p
+            LEFT JOIN product_rating_summaries s ON s.product_id = p.product_id
+            WHERE p.deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductListingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Streams every live product in product id order through a server-side cursor.
+     */
+    @Transactional(readOnly = true)
+    public void forEachRow(RowHandler handler) {
+        jdbcTemplate.query(SELECT_ROWS + " ORDER BY p.product_id", resultSet -> {
+            handler.accept(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getLong(4), resultSet.getInt(5));
+        });
+    }
+
+    /**
+     * Streams the given products in product id order; deleted and missing ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    public void forEachRow(long[] productIds, RowHandler handler) {
+        Long[] ids = Arrays.stream(productIds).boxed().toArray(Long[]::new);
+        jdbcTemplate.query(SELECT_ROWS + " AND p.product_id = ANY(?) ORDER BY p.product_id", resultSet -> {
+            handler.accept(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getLong(4), resultSet.getInt(5));
+        }, (Object) ids);
+    }
+
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(long productId, long priceCents, String category, long createdAtMicros, int averageRating);
+    }
+}
@@ -0,0 +1,64 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.PriceUpdateMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ProductPriceRepository {
+
+    private static final String APPLY_PRICE_UPDATES = """
+            UPDATE products p SET
+                price = coalesce(u.price, p.price),
+                available = coalesce(u.available, p.available),
+                updated_at = ?,
+                version = p.version + 1
+            FROM unnest(?::bigint[], ?::numeric[], ?::boolean[]) AS u(product_id, price, available)
+            WHERE p.product_id = u.product_id AND p.deleted_at IS NULL
+              AND (p.price IS DISTINCT FROM coalesce(u.price, p.price) OR p.available IS DISTINCT FROM coalesce(u.available, p.available))
+            RETURNING p.product_id, p.price, p.available
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductPriceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Applies all updates in one statement. Unknown products and updates that would not change anything are
+     * skipped; the returned rows are the products that actually changed, with their new values.
+     */
+    public List<PriceUpdateMessage> applyPriceUpdates(Collection<PriceUpdateMessage> updates, LocalDateTime updatedAt) {
+        Long[] productIds = new Long[updates.size()];
+        Object[] prices = new Object[updates.size()];
+        Boolean[] availability = new Boolean[updates.size()];
+        int i = 0;
+        for (PriceUpdateMessage update : updates) {
+            productIds[i] = update.getProductId();
+            prices[i] = update.getPrice();
+            availability[i] = update.getAvailable();
+            i++;
+        }
+        List<PriceUpdateMessage> applied = new ArrayList<>(updates.size());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_PRICE_UPDATES);
+            statement.setObject(1, updatedAt);
+            statement.setArray(2, connection.createArrayOf("bigint", productIds));
+            statement.setArray(3, connection.createArrayOf("numeric", prices));
+            statement.setArray(4, connection.createArrayOf("boolean", availability));
+            return statement;
+        }, resultSet -> {
+            applied.add(new PriceUpdateMessage(resultSet.getLong(1), resultSet.getBigDecimal(2), resultSet.getBoolean(3)));
+        });
+        return applied;
+    }
+}
@@ -0,0 +1,56 @@
+package com.swiftcart.product_service.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class ProductPurgeRepository {
+
+    private static final String DELETE_RATINGS_CHUNK = """
+            DELETE FROM ratings WHERE rating_id IN (
+                SELECT rating_id FROM ratings WHERE product_id = ? LIMIT ?)
+            """;
+
+    private static final String DELETE_REVIEWS_CHUNK = """
+            DELETE FROM reviews WHERE review_id IN (
+                SELECT review_id FROM reviews WHERE product_id = ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductPurgeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> findDeletedProductIds(int limit) {
+        return jdbcTemplate.queryForList("SELECT product_id FROM products WHERE deleted_at IS NOT NULL ORDER BY deleted_at, product_id LIMIT ?",
+                Long.class, limit);
+    }
+
+    public long countDeletedProducts() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM products WHERE deleted_at IS NOT NULL", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public int deleteRatingsChunk(Long productId, int chunkSize) {
+        return jdbcTemplate.update(DELETE_RATINGS_CHUNK, productId, chunkSize);
+    }
+
+    public int deleteReviewsChunk(Long productId, int chunkSize) {
+        return jdbcTemplate.update(DELETE_REVIEWS_CHUNK, productId, chunkSize);
+    }
+
+    /**
+     * Removes the product row once its children are gone, together with its variant rows and any rating summary
+     * recreated by a rating change that raced the delete.
+     */
+    public boolean deleteProduct(Long productId) {
+        jdbcTemplate.update("DELETE FROM product_rating_summaries WHERE product_id = ?", productId);
+        jdbcTemplate.update("DELETE FROM product_variants WHERE product_id = ?", productId);
+        return jdbcTemplate.update("DELETE FROM products WHERE product_id = ? AND deleted_at IS NOT NULL", productId) > 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.entity.ProductRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    @Query("SELECT s.updatedAt FROM ProductRatingSummary s WHERE s.productId = :productId")
+    Optional<LocalDateTime> findUpdatedAtByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO product_rating_summaries (product_id, rating_count, rating_sum, one_star_count, two_star_count,
+                                                  three_star_count, four_star_count, five_star_count, updated_at)
+            VALUES (:productId, :countDelta, :sumDelta, :oneStarDelta, :twoStarDelta, :threeStarDelta, :fourStarDelta, :fiveStarDelta, :updatedAt)
+            ON CONFLICT (product_id) DO UPDATE SET
+                rating_count = product_rating_summaries.rating_count + EXCLUDED.rating_count,
+                rating_sum = product_rating_summaries.rating_sum + EXCLUDED.rating_sum,
+                one_star_count = product_rating_summaries.one_star_count + EXCLUDED.one_star_count,
+                two_star_count = product_rating_summaries.two_star_count + EXCLUDED.two_star_count,
+                three_star_count = product_rating_summaries.three_star_count + EXCLUDED.three_star_count,
+                four_star_count = product_rating_summaries.four_star_count + EXCLUDED.four_star_count,
+                five_star_count = product_rating_summaries.five_star_count + EXCLUDED.five_star_count,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyDelta(@Param("productId") Long productId, @Param("countDelta") long countDelta, @Param("sumDelta") long sumDelta,
+                    @Param("oneStarDelta") long oneStarDelta, @Param("twoStarDelta") long twoStarDelta,
+                    @Param("threeStarDelta") long threeStarDelta, @Param("fourStarDelta") long fourStarDelta,
+                    @Param("fiveStarDelta") long fiveStarDelta, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO product_rating_summaries (product_id, rating_count, rating_sum, one_star_count, two_star_count,
+                                                  three_star_count, four_star_count, five_star_count, updated_at)
+            SELECT r.product_id, count(*), coalesce(sum(r.star_rating), 0),
+                   count(*) FILTER (WHERE r.star_rating = 1), count(*) FILTER (WHERE r.star_rating = 2),
+                   count(*) FILTER (WHERE r.star_rating = 3), count(*) FILTER (WHERE r.star_rating = 4),
+                   count(*) FILTER (WHERE r.star_rating = 5), :updatedAt
+            FROM ratings r
+            JOIN products p ON p.product_id = r.product_id AND p.deleted_at IS NULL
+            GROUP BY r.product_id
+            ON CONFLICT (product_id) DO UPDATE SET
+                rating_count = EXCLUDED.rating_count,
+                rating_sum = EXCLUDED.rating_sum,
+                one_star_count = EXCLUDED.one_star_count,
+                two_star_count = EXCLUDED.two_star_count,
+                three_star_count = EXCLUDED.three_star_count,
+                four_star_count = EXCLUDED.four_star_count,
+                five_star_count = EXCLUDED.five_star_count,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int rebuildAll(@Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("DELETE FROM ProductRatingSummary s WHERE s.productId = :productId")
+    void deleteByProductId(@Param("productId") Long productId);
+}
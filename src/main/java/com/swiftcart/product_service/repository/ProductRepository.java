@@ -1,14 +1,34 @@
 package com.swiftcart.product_service.repository;
 
+import com.swiftcart.product_service.dto.ProductVersionDTO;
 import com.swiftcart.product_service.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
     Optional<Product> findByName(String name);
 
+    /**
+     * Native so names of deleted products that are not purged yet, which still hold the unique constraint, are included.
+     */
+    @Query(value = "SELECT name FROM products WHERE name IN (:names)", nativeQuery = true)
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("SELECT new com.swiftcart.product_service.dto.ProductVersionDTO(p.updatedAt, s.updatedAt) " +
+            "FROM Product p LEFT JOIN ProductRatingSummary s ON s.productId = p.productId WHERE p.productId = :productId")
+    Optional<ProductVersionDTO> findVersionById(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.deletedAt = CURRENT_TIMESTAMP, p.version = p.version + 1 WHERE p.productId = :productId AND p.deletedAt IS NULL")
+    int softDeleteById(@Param("productId") Long productId);
+
 }
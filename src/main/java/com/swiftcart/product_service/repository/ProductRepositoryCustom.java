@@ -0,0 +1,22 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductListingFilter;
+import com.swiftcart.product_service.enums.ProductField;
+import com.swiftcart.product_service.enums.ProductSortField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ProductRepositoryCustom {
+
+    List<PagedProductResponseDTO> findSlice(ProductSortField sortField, boolean ascending, Object lastSortValue, Long lastProductId,
+                                            int limit, Set<ProductField> excludedFields, ProductListingFilter filter);
+
+    Page<PagedProductResponseDTO> findPage(Pageable pageable, Set<ProductField> excludedFields, ProductListingFilter filter);
+
+    List<PagedProductResponseDTO> findAllByIds(Collection<Long> productIds);
+}
@@ -0,0 +1,196 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductListingFilter;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.entity.ProductVariant;
+import com.swiftcart.product_service.enums.ProductField;
+import com.swiftcart.product_service.enums.ProductSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read paths select only the listing columns into tuples, so no managed entities, snapshots or dirty
+ * checks are involved, and excluded fields (notably the jsonb {@code variants}) are never read.
+ * Variant filters are one {@code EXISTS} per option against the indexed {@code product_variants} rows.
+ */
+@Transactional(readOnly = true)
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final List<String> COLUMNS = List.of(
+            "productId", "name", "description", "price", "category", "variants", "imageUrl", "available", "createdAt", "updatedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PagedProductResponseDTO> findSlice(ProductSortField sortField, boolean ascending, Object lastSortValue, Long lastProductId,
+                                                   int limit, Set<ProductField> excludedFields, ProductListingFilter filter) {
+        String order = ascending ? "ASC" : "DESC";
+        StringBuilder hql = new StringBuilder("SELECT ");
+        List<String> columns = columns(excludedFields);
+        for (int i = 0; i < columns.size(); i++) {
+            hql.append(i == 0 ? "" : ", ").append("p.").append(columns.get(i)).append(" AS ").append(columns.get(i));
+        }
+        hql.append(" FROM Product p");
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> conditions = conditions(filter, parameters);
+        if (lastProductId != null) {
+            conditions.add("(p." + sortField.getProperty() + ", p.productId) " + (ascending ? ">" : "<") + " (:lastSortValue, :lastProductId)");
+            parameters.put("lastSortValue", lastSortValue);
+            parameters.put("lastProductId", lastProductId);
+        }
+        if (!conditions.isEmpty()) {
+            hql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        hql.append(" ORDER BY p.").append(sortField.getProperty()).append(' ').append(order)
+                .append(", p.productId ").append(order);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(hql.toString(), Tuple.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return toProducts(query.getResultList(), excludedFields);
+    }
+
+    @Override
+    public Page<PagedProductResponseDTO> findPage(Pageable pageable, Set<ProductField> excludedFields, ProductListingFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<Product> product = criteria.from(Product.class);
+        criteria.multiselect(selections(product, excludedFields))
+                .where(predicates(builder, criteria, product, filter))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), product, builder));
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<PagedProductResponseDTO> content = toProducts(query.getResultList(), excludedFields);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(filter));
+    }
+
+    @Override
+    public List<PagedProductResponseDTO> findAllByIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<Product> product = criteria.from(Product.class);
+        criteria.multiselect(selections(product, Set.of()))
+                .where(product.get("productId").in(productIds));
+        return toProducts(entityManager.createQuery(criteria).getResultList(), Set.of());
+    }
+
+    private long count(ProductListingFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<Product> product = criteria.from(Product.class);
+        criteria.select(builder.count(product)).where(predicates(builder, criteria, product, filter));
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder builder, CriteriaQuery<?> criteria, Root<Product> product, ProductListingFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getMinPrice() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(product.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(builder.lessThanOrEqualTo(product.get("price"), filter.getMaxPrice()));
+        }
+        if (!filter.getCategories().isEmpty()) {
+            predicates.add(product.get("category").in(filter.getCategories()));
+        }
+        filter.getVariantOptions().forEach((attribute, values) -> values.forEach(value -> {
+            Subquery<Integer> option = criteria.subquery(Integer.class);
+            Root<ProductVariant> variant = option.from(ProductVariant.class);
+            option.select(builder.literal(1)).where(
+                    builder.equal(variant.get("attribute"), attribute),
+                    builder.equal(variant.get("optionValue"), value),
+                    builder.equal(variant.get("productId"), product.get("productId")));
+            predicates.add(builder.exists(option));
+        }));
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static List<String> conditions(ProductListingFilter filter, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getMinPrice() != null) {
+            conditions.add("p.price >= :minPrice");
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            conditions.add("p.price <= :maxPrice");
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+        if (!filter.getCategories().isEmpty()) {
+            conditions.add("p.category IN :categories");
+            parameters.put("categories", filter.getCategories());
+        }
+        filter.getVariantOptions().forEach((attribute, values) -> values.forEach(value -> {
+            int index = parameters.size();
+            conditions.add("EXISTS (SELECT 1 FROM ProductVariant v" + index + " WHERE v" + index + ".attribute = :attribute" + index
+                    + " AND v" + index + ".optionValue = :value" + index + " AND v" + index + ".productId = p.productId)");
+            parameters.put("attribute" + index, attribute);
+            parameters.put("value" + index, value);
+        }));
+        return conditions;
+    }
+
+    private static List<String> columns(Set<ProductField> excludedFields) {
+        return COLUMNS.stream()
+                .filter(column -> excludedFields.stream().noneMatch(field -> field.getProperty().equals(column)))
+                .toList();
+    }
+
+    private static List<Selection<?>> selections(Root<Product> product, Set<ProductField> excludedFields) {
+        return columns(excludedFields).stream()
+                .<Selection<?>>map(column -> product.get(column).alias(column))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PagedProductResponseDTO> toProducts(List<Tuple> tuples, Set<ProductField> excludedFields) {
+        boolean withDescription = !excludedFields.contains(ProductField.DESCRIPTION);
+        boolean withVariants = !excludedFields.contains(ProductField.VARIANTS);
+        return tuples.stream().map(tuple -> {
+            PagedProductResponseDTO product = new PagedProductResponseDTO();
+            product.setProductId(tuple.get("productId", Long.class));
+            product.setName(tuple.get("name", String.class));
+            product.setPrice(tuple.get("price", BigDecimal.class));
+            product.setCategory(tuple.get("category", String.class));
+            product.setImageUrl(tuple.get("imageUrl", String.class));
+            product.setAvailable(tuple.get("available", Boolean.class));
+            product.setCreatedAt(tuple.get("createdAt", LocalDateTime.class));
+            product.setUpdatedAt(tuple.get("updatedAt", LocalDateTime.class));
+            if (withDescription) {
+                product.setDescription(tuple.get("description", String.class));
+            }
+            if (withVariants) {
+                product.setVariants((Map<String, Object>) tuple.get("variants"));
+            }
+            return product;
+        }).toList();
+    }
+}
@@ -0,0 +1,141 @@
+package com.swiftcart.product_service.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.dto.FacetCountDTO;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductSearchCriteria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Search queries over the generated {@code search_vector} column and the {@code product_variant_values(variants)}
+ * expression index, both created by schema.sql. Variant options match on their text, like the listing filter. Facet
+ * queries leave out their own filter so the counts show what selecting another value would return.
+ */
+@Repository
+public class ProductSearchRepository {
+
+    private static final String TS_QUERY = "websearch_to_tsquery('english', :query)";
+    private static final TypeReference<Map<String, Object>> VARIANTS_TYPE = new TypeReference<>() {};
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<PagedProductResponseDTO> search(ProductSearchCriteria criteria, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        String orderBy = criteria.getQuery() == null
+                ? "p.product_id"
+                : "ts_rank_cd(p.search_vector, " + TS_QUERY + ") DESC, p.product_id";
+        String sql = "SELECT p.product_id, p.name, p.description, p.price, p.category, p.variants, p.image_url, p.available, p.created_at, p.updated_at FROM products p"
+                + where(criteria, params, true, true)
+                + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset";
+        return jdbcTemplate.query(sql, params, (resultSet, rowNum) -> toProduct(resultSet));
+    }
+
+    public long count(ProductSearchCriteria criteria) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM products p" + where(criteria, params, true, true), params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public List<FacetCountDTO> countByCategory(ProductSearchCriteria criteria, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        String sql = "SELECT p.category, count(*) AS hits FROM products p" + where(criteria, params, false, true)
+                + " GROUP BY p.category ORDER BY hits DESC, p.category LIMIT :limit";
+        return jdbcTemplate.query(sql, params, (resultSet, rowNum) -> new FacetCountDTO(resultSet.getString(1), resultSet.getLong(2)));
+    }
+
+    /**
+     * Counts matches per price bucket, keyed by {@code width_bucket} over the given ascending thresholds:
+     * bucket {@code i} holds prices in {@code [thresholds[i-1], thresholds[i])} and the last one is open-ended.
+     */
+    public Map<Integer, Long> countByPriceBucket(ProductSearchCriteria criteria, List<BigDecimal> thresholds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("thresholds", thresholds.stream().map(BigDecimal::toPlainString).collect(Collectors.joining(",", "{", "}")));
+        String sql = "SELECT width_bucket(p.price, CAST(:thresholds AS numeric[])) AS bucket, count(*) FROM products p"
+                + where(criteria, params, true, false) + " GROUP BY bucket";
+        Map<Integer, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, params, resultSet -> {
+            counts.put(resultSet.getInt(1), resultSet.getLong(2));
+        });
+        return counts;
+    }
+
+    private String where(ProductSearchCriteria criteria, MapSqlParameterSource params, boolean withCategory, boolean withPrice) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("p.deleted_at IS NULL");
+        if (criteria.getQuery() != null) {
+            conditions.add("p.search_vector @@ " + TS_QUERY);
+            params.addValue("query", criteria.getQuery());
+        }
+        if (withCategory && criteria.getCategories() != null && !criteria.getCategories().isEmpty()) {
+            conditions.add("p.category IN (:categories)");
+            params.addValue("categories", criteria.getCategories());
+        }
+        if (withPrice && criteria.getMinPrice() != null) {
+            conditions.add("p.price >= :minPrice");
+            params.addValue("minPrice", criteria.getMinPrice());
+        }
+        if (withPrice && criteria.getMaxPrice() != null) {
+            conditions.add("p.price <= :maxPrice");
+            params.addValue("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getVariantOptions() != null && !criteria.getVariantOptions().isEmpty()) {
+            conditions.add("product_variant_values(p.variants) @> CAST(:variantOptions AS jsonb)");
+            params.addValue("variantOptions", toJson(criteria.getVariantOptions()));
+        }
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private PagedProductResponseDTO toProduct(ResultSet resultSet) throws SQLException {
+        PagedProductResponseDTO product = new PagedProductResponseDTO();
+        product.setProductId(resultSet.getLong("product_id"));
+        product.setName(resultSet.getString("name"));
+        product.setDescription(resultSet.getString("description"));
+        product.setPrice(resultSet.getBigDecimal("price"));
+        product.setCategory(resultSet.getString("category"));
+        product.setImageUrl(resultSet.getString("image_url"));
+        product.setAvailable(resultSet.getBoolean("available"));
+        product.setCreatedAt(resultSet.getObject("created_at", LocalDateTime.class));
+        product.setUpdatedAt(resultSet.getObject("updated_at", LocalDateTime.class));
+        String variants = resultSet.getString("variants");
+        if (variants != null) {
+            try {
+                product.setVariants(objectMapper.readValue(variants, VARIANTS_TYPE));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable variants for product " + product.getProductId(), e);
+            }
+        }
+        return product;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.PendingRating;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class RatingBatchRepository {
+
+    private static final String INSERT_NEW_RATINGS = """
+            INSERT INTO ratings (product_id, customer_id, star_rating, created_at, updated_at)
+            SELECT u.product_id, u.customer_id, u.star_rating, ?, ?
+            FROM unnest(?::bigint[], ?::bigint[], ?::int[]) AS u(product_id, customer_id, star_rating)
+            JOIN products p ON p.product_id = u.product_id AND p.deleted_at IS NULL
+            ON CONFLICT (product_id, customer_id) DO NOTHING
+            RETURNING product_id, star_rating
+            """;
+
+    private static final String APPLY_SUMMARY_DELTA = """
+            INSERT INTO product_rating_summaries (product_id, rating_count, rating_sum, one_star_count, two_star_count,
+                                                  three_star_count, four_star_count, five_star_count, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (product_id) DO UPDATE SET
+                rating_count = product_rating_summaries.rating_count + EXCLUDED.rating_count,
+                rating_sum = product_rating_summaries.rating_sum + EXCLUDED.rating_sum,
+                one_star_count = product_rating_summaries.one_star_count + EXCLUDED.one_star_count,
+                two_star_count = product_rating_summaries.two_star_count + EXCLUDED.two_star_count,
+                three_star_count = product_rating_summaries.three_star_count + EXCLUDED.three_star_count,
+                four_star_count = product_rating_summaries.four_star_count + EXCLUDED.four_star_count,
+                five_star_count = product_rating_summaries.five_star_count + EXCLUDED.five_star_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RatingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the ratings in one statement, skipping rows for unknown products or customers who already rated.
+     * Returns the (productId, starRating) pairs that were actually inserted.
+     */
+    public List<long[]> insertNewRatings(List<PendingRating> ratings, LocalDateTime createdAt) {
+        Long[] productIds = new Long[ratings.size()];
+        Long[] customerIds = new Long[ratings.size()];
+        Integer[] starRatings = new Integer[ratings.size()];
+        for (int i = 0; i < ratings.size(); i++) {
+            productIds[i] = ratings.get(i).getProductId();
+            customerIds[i] = ratings.get(i).getCustomerId();
+            starRatings[i] = ratings.get(i).getStarRating();
+        }
+        List<long[]> inserted = new ArrayList<>(ratings.size());
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_NEW_RATINGS);
+            statement.setObject(1, createdAt);
+            statement.setObject(2, createdAt);
+            statement.setArray(3, connection.createArrayOf("bigint", productIds));
+            statement.setArray(4, connection.createArrayOf("bigint", customerIds));
+            statement.setArray(5, connection.createArrayOf("integer", starRatings));
+            return statement;
+        }, resultSet -> {
+            inserted.add(new long[]{resultSet.getLong(1), resultSet.getInt(2)});
+        });
+        return inserted;
+    }
+
+    /**
+     * Applies summary deltas as one JDBC batch. Each value is {count, sum, oneStar, twoStar, threeStar, fourStar, fiveStar}.
+     */
+    public void applySummaryDeltas(Map<Long, long[]> deltasByProductId, LocalDateTime updatedAt) {
+        List<Object[]> rows = new ArrayList<>(deltasByProductId.size());
+        deltasByProductId.forEach((productId, delta) -> rows.add(new Object[]{
+                productId, delta[0], delta[1], delta[2], delta[3], delta[4], delta[5], delta[6], updatedAt}));
+        jdbcTemplate.batchUpdate(APPLY_SUMMARY_DELTA, rows);
+    }
+}
@@ -0,0 +1,71 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingUpsertResult;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class RatingUpsertRepository {
+
+    private static final String UPSERT_RATING = """
+            WITH live_product AS (
+                SELECT product_id FROM products WHERE product_id = ? AND deleted_at IS NULL
+            ), previous AS (
+                SELECT rating_id, star_rating, version FROM ratings WHERE product_id = ? AND customer_id = ? FOR UPDATE
+            ), upserted AS (
+                INSERT INTO ratings AS r (product_id, customer_id, star_rating, created_at, updated_at, version)
+                SELECT product_id, ?, ?, ?, ?, 0 FROM live_product
+                ON CONFLICT (product_id, customer_id) DO UPDATE SET
+                    star_rating = EXCLUDED.star_rating,
+                    updated_at = EXCLUDED.updated_at,
+                    version = r.version + 1
+                WHERE r.star_rating <> EXCLUDED.star_rating AND EXISTS (SELECT 1 FROM previous)
+                RETURNING r.rating_id, r.star_rating, r.version, r.xmax = 0 AS inserted
+            )
+            SELECT coalesce(u.rating_id, pr.rating_id), coalesce(u.star_rating, pr.star_rating), coalesce(u.version, pr.version),
+                   u.inserted, pr.star_rating
+            FROM live_product LEFT JOIN upserted u ON true LEFT JOIN previous pr ON true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RatingUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the customer's rating for the product or replaces its star rating in one statement. The
+     * existing row is read and locked in the same statement so the previous star rating is known; an
+     * identical star rating leaves the row untouched, and the result always carries the stored star rating.
+     * Empty when the product does not exist or is deleted, or when a concurrent insert of the same rating committed after this statement's snapshot was taken; the
+     * caller can tell the two apart and retry, since the next statement sees the committed row.
+     */
+    public Optional<RatingUpsertResult> upsert(Long productId, Long customerId, Integer starRating) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RatingUpsertResult> results = jdbcTemplate.query(UPSERT_RATING, (resultSet, rowNum) -> {
+            long ratingId = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            RatingResponseDTO rating = new RatingResponseDTO();
+            rating.setRatingId(ratingId);
+            rating.setProductId(productId);
+            rating.setCustomerId(customerId);
+            rating.setStarRating(resultSet.getInt(2));
+            rating.setVersion(resultSet.getLong(3));
+            Boolean inserted = resultSet.getObject(4, Boolean.class);
+            Integer previousStarRating = resultSet.getObject(5, Integer.class);
+            UpsertOutcome outcome = inserted == null ? UpsertOutcome.UNCHANGED : inserted ? UpsertOutcome.CREATED : UpsertOutcome.UPDATED;
+            return new RatingUpsertResult(rating, outcome, previousStarRating);
+        }, productId, productId, customerId, customerId, starRating, now, now);
+        return results.isEmpty() ? Optional.empty() : Optional.ofNullable(results.get(0));
+    }
+}
@@ -1,11 +1,15 @@
 package com.swiftcart.product_service.repository;
 
+import com.swiftcart.product_service.dto.ReviewResponseDTO;
 import com.swiftcart.product_service.entity.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +21,14 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.customerId = :customerId AND r.reviewId = :reviewId")
     Optional<Review> findByCustomerIdAndProductIdAndReviewId(@Param("customerId") Long customerId, @Param("productId") Long productId, @Param("reviewId") Long reviewId);
 
+    @Query("SELECT new com.swiftcart.product_service.dto.ReviewResponseDTO(r.reviewId, r.product.productId, r.customerId, r.reviewText, r.createdAt, r.updatedAt, r.version) " +
+            "FROM Review r WHERE r.product.productId = :productId ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<ReviewResponseDTO> findNewestByProductId(@Param("productId") Long productId, Limit limit);
+
+    @Query("SELECT new com.swiftcart.product_service.dto.ReviewResponseDTO(r.reviewId, r.product.productId, r.customerId, r.reviewText, r.createdAt, r.updatedAt, r.version) " +
+            "FROM Review r WHERE r.product.productId = :productId AND (r.createdAt, r.reviewId) < (:lastCreatedAt, :lastReviewId) " +
+            "ORDER BY r.createdAt DESC, r.reviewId DESC")
+    List<ReviewResponseDTO> findNewestByProductIdBefore(@Param("productId") Long productId, @Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                                        @Param("lastReviewId") Long lastReviewId, Limit limit);
+
 }
@@ -0,0 +1,64 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.ReviewResponseDTO;
+import com.swiftcart.product_service.dto.ReviewUpsertResult;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class ReviewUpsertRepository {
+
+    private static final String UPSERT_REVIEW = """
+            WITH live_product AS (
+                SELECT product_id FROM products WHERE product_id = ? AND deleted_at IS NULL
+            ), previous AS (
+                SELECT review_id, review_text, created_at, updated_at, version FROM reviews WHERE product_id = ? AND customer_id = ? FOR UPDATE
+            ), upserted AS (
+                INSERT INTO reviews AS r (product_id, customer_id, review_text, created_at, updated_at, version)
+                SELECT product_id, ?, ?, ?, ?, 0 FROM live_product
+                ON CONFLICT (product_id, customer_id) DO UPDATE SET
+                    review_text = EXCLUDED.review_text,
+                    updated_at = EXCLUDED.updated_at,
+                    version = r.version + 1
+                WHERE r.review_text <> EXCLUDED.review_text AND EXISTS (SELECT 1 FROM previous)
+                RETURNING r.review_id, r.review_text, r.created_at, r.updated_at, r.version, r.xmax = 0 AS inserted
+            )
+            SELECT coalesce(u.review_id, pr.review_id), coalesce(u.review_text, pr.review_text), coalesce(u.created_at, pr.created_at),
+                   coalesce(u.updated_at, pr.updated_at), coalesce(u.version, pr.version), u.inserted
+            FROM live_product LEFT JOIN upserted u ON true LEFT JOIN previous pr ON true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReviewUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Same contract as {@link RatingUpsertRepository#upsert}: one statement, identical text leaves the row
+     * untouched, the stored text is returned, and empty for a missing or deleted product or a concurrently
+     * inserted review.
+     */
+    public Optional<ReviewUpsertResult> upsert(Long productId, Long customerId, String reviewText) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReviewUpsertResult> results = jdbcTemplate.query(UPSERT_REVIEW, (resultSet, rowNum) -> {
+            long reviewId = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return null;
+            }
+            ReviewResponseDTO review = new ReviewResponseDTO(reviewId, productId, customerId, resultSet.getString(2),
+                    resultSet.getObject(3, LocalDateTime.class), resultSet.getObject(4, LocalDateTime.class), resultSet.getLong(5));
+            Boolean inserted = resultSet.getObject(6, Boolean.class);
+            UpsertOutcome outcome = inserted == null ? UpsertOutcome.UNCHANGED : inserted ? UpsertOutcome.CREATED : UpsertOutcome.UPDATED;
+            return new ReviewUpsertResult(review, outcome);
+        }, productId, productId, customerId, customerId, reviewText, now, now);
+        return results.isEmpty() ? Optional.empty() : Optional.ofNullable(results.get(0));
+    }
+}
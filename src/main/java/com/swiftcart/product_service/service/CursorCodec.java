@@ -0,0 +1,37 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+
+@Component
+public class CursorCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CursorCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String encode(Object cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    public <T> T decode(String token, Class<T> type) {
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(token), type);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
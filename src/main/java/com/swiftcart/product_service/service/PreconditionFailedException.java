@@ -0,0 +1,11 @@
+package com.swiftcart.product_service.service;
+
+/**
+ * The client's If-Match validator no longer matches the current representation.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
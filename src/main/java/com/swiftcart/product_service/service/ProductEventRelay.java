@@ -0,0 +1,116 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.config.ProductOutboxProperties;
+import com.swiftcart.product_service.entity.ProductEventLog;
+import com.swiftcart.product_service.mapper.ProductEventMapper;
+import com.swiftcart.product_service.repository.ProductEventLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductEventRelay {
+
+    private final ProductEventLogRepository productEventLogRepository;
+    private final ProductEventMapper productEventMapper;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedEvents;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public ProductEventRelay(ProductEventLogRepository productEventLogRepository, ProductEventMapper productEventMapper,
+                             KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper,
+                             ProductOutboxProperties properties, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.productEventLogRepository = productEventLogRepository;
+        this.productEventMapper = productEventMapper;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedEvents = meterRegistry.counter("product.outbox.published");
+        this.batchSizes = DistributionSummary.builder("product.outbox.batch.size").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${product.outbox.poll-interval:PT0.5S}")
+    public void relayPendingEvents() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Product event relay failed, unsent events will be retried: {}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<ProductEventLog> batch = productEventLogRepository.claimUnsentBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        List<Long> eventIds = new ArrayList<>(batch.size());
+        for (ProductEventLog event : batch) {
+            ProducerRecord<String, String> record = new ProducerRecord<>(properties.getTopic(), event.getProductId().toString(), toJson(event));
+            record.headers().add("eventId", event.getEventId().toString().getBytes(StandardCharsets.UTF_8));
+            record.headers().add("eventType", event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+            sends.add(kafkaTemplate.send(record));
+            eventIds.add(event.getEventId());
+        }
+        kafkaTemplate.flush();
+        awaitAcknowledgements(sends);
+
+        productEventLogRepository.markSent(eventIds);
+        publishedEvents.increment(batch.size());
+        batchSizes.record(batch.size());
+        return batch.size();
+    }
+
+    private void awaitAcknowledgements(List<CompletableFuture<SendResult<String, String>>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing product events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish product events", e);
+        }
+    }
+
+    private String toJson(ProductEventLog event) {
+        try {
+            return objectMapper.writeValueAsString(productEventMapper.toProductEventDTO(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product event " + event.getEventId(), e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.entity.ProductEventLog;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.mapper.ProductMapper;
+import com.swiftcart.product_service.repository.ProductEventLogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Service
+public class ProductEventService {
+
+    private static final TypeReference<Map<String, Object>> EVENT_DATA_TYPE = new TypeReference<>() {};
+
+    private final ProductEventLogRepository productEventLogRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProductEventService(ProductEventLogRepository productEventLogRepository, ProductMapper productMapper, ObjectMapper objectMapper) {
+        this.productEventLogRepository = productEventLogRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProductEvent(Product product, ProductEventType eventType) {
+        Map<String, Object> snapshot = objectMapper.convertValue(productMapper.toPagedProductResponseDTO(product), EVENT_DATA_TYPE);
+        recordProductEvent(product.getProductId(), eventType, snapshot);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProductEvent(Long productId, ProductEventType eventType, Map<String, Object> eventData) {
+        ProductEventLog eventLog = new ProductEventLog();
+        eventLog.setProductId(productId);
+        eventLog.setEventType(eventType);
+        eventLog.setEventData(eventData);
+        eventLog.setTimeStamp(OffsetDateTime.now());
+        productEventLogRepository.save(eventLog);
+    }
+}
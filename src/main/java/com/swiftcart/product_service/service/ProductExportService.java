@@ -0,0 +1,68 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.swiftcart.product_service.config.ProductExportProperties;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.mapper.ProductMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole catalog as NDJSON from a forward-only cursor in a stateless session, so nothing is
+ * accumulated in a persistence context and memory stays flat regardless of catalog size.
+ */
+@Service
+public class ProductExportService {
+
+    private final SessionFactory sessionFactory;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final ProductExportProperties properties;
+
+    @Autowired
+    public ProductExportService(EntityManagerFactory entityManagerFactory, ProductMapper productMapper,
+                                ObjectMapper objectMapper, ProductExportProperties properties) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public void exportProducts(OutputStream output, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(output, 8192, true) : output;
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(target)) {
+            session.doWork(connection -> connection.setReadOnly(true));
+            session.beginTransaction();
+            try (ScrollableResults<Product> products = session
+                    .createSelectionQuery("FROM Product p ORDER BY p.productId", Product.class)
+                    .setReadOnly(true)
+                    .setFetchSize(properties.getFetchSize())
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                long written = 0;
+                while (products.next()) {
+                    writer.write(productMapper.toPagedProductResponseDTO(products.get()));
+                    if (++written == 1 || written % properties.getFetchSize() == 0) {
+                        writer.flush();
+                    }
+                }
+                if (written > 0) {
+                    writer.flush();
+                    target.write('\n');
+                }
+            } finally {
+                session.getTransaction().rollback();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.cache.DuplicateKeyFilter;
+import com.swiftcart.product_service.config.ProductImportProperties;
+import com.swiftcart.product_service.dto.CreateProductDTO;
+import com.swiftcart.product_service.dto.ProductImportResultDTO;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.enums.ProductImportStatus;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.mapper.ProductMapper;
+import com.swiftcart.product_service.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a JSON array or newline-delimited JSON body of {@link CreateProductDTO}s into the catalog chunk by chunk,
+ * writing one NDJSON result line per input row as each chunk commits.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductEventService productEventService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ProductImportProperties properties;
+    private final DuplicateKeyFilter duplicateKeyFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ProductImportService(ProductRepository productRepository, ProductMapper productMapper,
+                                ProductEventService productEventService, Validator validator, ObjectMapper objectMapper,
+                                EntityManager entityManager, ProductImportProperties properties,
+                                DuplicateKeyFilter duplicateKeyFilter, PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productEventService = productEventService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.duplicateKeyFilter = duplicateKeyFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void importProducts(InputStream input, OutputStream output) throws IOException {
+        List<JsonNode> chunk = new ArrayList<>(properties.getChunkSize());
+        long index = 0;
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                chunk.add(parser.readValueAsTree());
+                if (chunk.size() == properties.getChunkSize()) {
+                    writeResults(importChunk(chunk, index), output);
+                    index += chunk.size();
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            writeResults(importChunk(chunk, index), output);
+            ProductImportResultDTO result = new ProductImportResultDTO(index + chunk.size());
+            result.setStatus(ProductImportStatus.INVALID);
+            result.setError("Malformed JSON, import stopped: " + e.getOriginalMessage());
+            writeResults(List.of(result), output);
+            return;
+        }
+        writeResults(importChunk(chunk, index), output);
+    }
+
+    private List<ProductImportResultDTO> importChunk(List<JsonNode> rows, long firstIndex) {
+        List<ProductImportResultDTO> results = new ArrayList<>(rows.size());
+        Map<String, CreateProductDTO> candidates = new LinkedHashMap<>();
+        Map<String, ProductImportResultDTO> candidateResults = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductImportResultDTO result = new ProductImportResultDTO(firstIndex + i);
+            results.add(result);
+            CreateProductDTO dto;
+            try {
+                dto = objectMapper.treeToValue(rows.get(i), CreateProductDTO.class);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                reject(result, ProductImportStatus.INVALID, e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage());
+                continue;
+            }
+            result.setName(dto.getName());
+            Set<ConstraintViolation<CreateProductDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                reject(result, ProductImportStatus.INVALID, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (candidates.putIfAbsent(dto.getName(), dto) != null) {
+                reject(result, ProductImportStatus.DUPLICATE, "Product name repeated in this import");
+            } else {
+                candidateResults.put(dto.getName(), result);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertNewProducts(candidates, candidateResults));
+        } catch (RuntimeException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Product import chunk starting at row {} failed: {}", firstIndex, message);
+            candidateResults.values().forEach(result -> {
+                result.setProductId(null);
+                reject(result, ProductImportStatus.FAILED, message);
+            });
+        }
+        return results;
+    }
+
+    private void insertNewProducts(Map<String, CreateProductDTO> candidates, Map<String, ProductImportResultDTO> candidateResults) {
+        Set<String> existingNames = new HashSet<>(productRepository.findExistingNames(candidates.keySet()));
+        List<Product> products = new ArrayList<>(candidates.size());
+        candidates.forEach((name, dto) -> {
+            if (existingNames.contains(name)) {
+                reject(candidateResults.get(name), ProductImportStatus.DUPLICATE, "Product name already exists");
+            } else {
+                products.add(productMapper.toProductEntity(dto));
+            }
+        });
+
+        productRepository.saveAll(products);
+        for (Product product : products) {
+            productEventService.recordProductEvent(product, ProductEventType.PRODUCT_CREATED);
+            duplicateKeyFilter.add(DuplicateKeyType.PRODUCT_NAME, DuplicateKeyFilter.keyOf(product.getName()));
+            ProductImportResultDTO result = candidateResults.get(product.getName());
+            result.setStatus(ProductImportStatus.CREATED);
+            result.setProductId(product.getProductId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (!products.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(products.stream().map(Product::getProductId).toList(),
+                    ProductEventType.PRODUCT_CREATED));
+        }
+    }
+
+    private void writeResults(List<ProductImportResultDTO> results, OutputStream output) throws IOException {
+        for (ProductImportResultDTO result : results) {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private static void reject(ProductImportResultDTO result, ProductImportStatus status, String error) {
+        result.setStatus(status);
+        result.setError(error);
+    }
+}
@@ -0,0 +1,155 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.config.ProductLookupProperties;
+import com.swiftcart.product_service.config.ReadYourWrites;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads products with their rating summaries using one IN query per call. Single-id lookups are queued
+ * and dispatched together when they arrive within {@code product.lookup.coalesce-window} of each other.
+ */
+@Slf4j
+@Component
+public class ProductLoader {
+
+    private final ProductRepository productRepository;
+    private final RatingService ratingService;
+    private final ProductLookupProperties properties;
+    private final BlockingQueue<PendingLookup> pending = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final DistributionSummary coalescedBatchSize;
+    private Thread dispatcher;
+
+    @Autowired
+    public ProductLoader(ProductRepository productRepository, RatingService ratingService,
+                         ProductLookupProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.ratingService = ratingService;
+        this.properties = properties;
+        this.coalescedBatchSize = DistributionSummary.builder("product.lookup.coalesced.batch.size")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isCoalesceEnabled()) {
+            dispatcher = Thread.ofPlatform().daemon().name("product-lookup-coalescer").start(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        batchExecutor.close();
+        PendingLookup lookup;
+        while ((lookup = pending.poll()) != null) {
+            lookup.result.completeExceptionally(new IllegalStateException("Product lookups are shutting down"));
+        }
+    }
+
+    public PagedProductResponseDTO load(Long id) {
+        PagedProductResponseDTO product;
+        if (dispatcher == null || ReadYourWrites.isPinnedToPrimary()) {
+            product = loadAll(List.of(id)).get(id);
+        } else {
+            PendingLookup lookup = new PendingLookup(id);
+            pending.add(lookup);
+            product = await(lookup.result);
+        }
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not available for this ID: " + id);
+        }
+        return product;
+    }
+
+    public Map<Long, PagedProductResponseDTO> loadAll(Collection<Long> ids) {
+        List<PagedProductResponseDTO> products = productRepository.findAllByIds(ids);
+        Map<Long, RatingSummaryDTO> summaries = ratingService.getRatingSummaries(
+                products.stream().map(PagedProductResponseDTO::getProductId).toList());
+        Map<Long, PagedProductResponseDTO> loaded = new LinkedHashMap<>();
+        for (PagedProductResponseDTO product : products) {
+            product.setRatingSummary(summaries.get(product.getProductId()));
+            loaded.put(product.getProductId(), product);
+        }
+        return loaded;
+    }
+
+    private void dispatchLoop() {
+        long window = properties.getCoalesceWindow().toNanos();
+        int maxBatchSize = Math.max(1, properties.getCoalesceMaxBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<PendingLookup> batch = new ArrayList<>();
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + window;
+                while (batch.size() < maxBatchSize) {
+                    PendingLookup next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                batchExecutor.execute(() -> dispatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Product lookup dispatch failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        coalescedBatchSize.record(batch.size());
+        try {
+            Map<Long, PagedProductResponseDTO> loaded = loadAll(batch.stream().map(lookup -> lookup.id).distinct().toList());
+            batch.forEach(lookup -> lookup.result.complete(loaded.get(lookup.id)));
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> lookup.result.completeExceptionally(e));
+        }
+    }
+
+    private static PagedProductResponseDTO await(CompletableFuture<PagedProductResponseDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class PendingLookup {
+        private final Long id;
+        private final CompletableFuture<PagedProductResponseDTO> result = new CompletableFuture<>();
+
+        private PendingLookup(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.cache.ProductCache;
+import com.swiftcart.product_service.config.ProductCacheProperties;
+import com.swiftcart.product_service.config.ProductLookupProperties;
+import com.swiftcart.product_service.config.ReadYourWrites;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Renders changed products once their write has committed, so the next read is served from bytes instead of
+ * paying for the load and serialization. Runs after {@link ProductCache} has evicted the old payload, in the
+ * background and on the primary, since a replica may not have the write yet.
+ */
+@Slf4j
+@Component
+public class ProductPayloadWarmer {
+
+    private final ProductCache productCache;
+    private final ProductLoader productLoader;
+    private final ProductCacheProperties cacheProperties;
+    private final ProductLookupProperties lookupProperties;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    @Autowired
+    public ProductPayloadWarmer(ProductCache productCache, ProductLoader productLoader,
+                                ProductCacheProperties cacheProperties, ProductLookupProperties lookupProperties) {
+        this.productCache = productCache;
+        this.productLoader = productLoader;
+        this.cacheProperties = cacheProperties;
+        this.lookupProperties = lookupProperties;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-payload-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!productCache.isPreSerialized() || !cacheProperties.isWarmOnWrite()
+                || event.getEventType() != ProductEventType.PRODUCT_UPDATED) {
+            return;
+        }
+        if (pending.addAll(event.getProductIds())) {
+            try {
+                executor.execute(this::warmPending);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void warmPending() {
+        int chunkSize = Math.max(1, lookupProperties.getMaxBatchIds());
+        while (!pending.isEmpty()) {
+            List<Long> chunk = new ArrayList<>(chunkSize);
+            for (Iterator<Long> ids = pending.iterator(); ids.hasNext() && chunk.size() < chunkSize; ) {
+                chunk.add(ids.next());
+                ids.remove();
+            }
+            try {
+                ReadYourWrites.onPrimary(() -> productCache.getAllPayloads(chunk, productLoader::loadAll));
+            } catch (RuntimeException e) {
+                log.debug("Warming {} product payloads failed, they render on the next read: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.swiftcart.product_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.dto.PriceUpdateMessage;
+import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.repository.ProductPriceRepository;
+import com.swiftcart.product_service.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies price and availability changes from the pricing and inventory feeds. Each poll is folded to one
+ * update per product, in record order, and written with a single UPDATE; products that actually changed get
+ * the same outbox event, with the full product snapshot, and cache eviction as an update through the API.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.price-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductPriceFeedListener {
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final ProductPriceRepository productPriceRepository;
+    private final ProductRepository productRepository;
+    private final ProductEventService productEventService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter received;
+    private final Counter invalid;
+    private final Counter applied;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public ProductPriceFeedListener(ProductPriceRepository productPriceRepository, ProductRepository productRepository,
+                                    ProductEventService productEventService, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.productPriceRepository = productPriceRepository;
+        this.productRepository = productRepository;
+        this.productEventService = productEventService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.received = meterRegistry.counter("product.price-feed.received");
+        this.invalid = meterRegistry.counter("product.price-feed.invalid");
+        this.applied = meterRegistry.counter("product.price-feed.applied");
+        this.batchSizes = DistributionSummary.builder("product.price-feed.batch.size").register(meterRegistry);
+    }
+
+    @KafkaListener(id = "product-price-feed", idIsGroup = false, topics = "${product.price-feed.topic:product-price-updates}",
+            containerFactory = "priceFeedListenerContainerFactory")
+    public void onPriceUpdates(List<ConsumerRecord<String, String>> records) {
+        received.increment(records.size());
+        Map<Long, PriceUpdateMessage> updates = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            PriceUpdateMessage update = parse(record);
+            if (update == null) {
+                invalid.increment();
+                continue;
+            }
+            PriceUpdateMessage merged = updates.get(update.getProductId());
+            if (merged == null) {
+                updates.put(update.getProductId(), update);
+            } else {
+                if (update.getPrice() != null) {
+                    merged.setPrice(update.getPrice());
+                }
+                if (update.getAvailable() != null) {
+                    merged.setAvailable(update.getAvailable());
+                }
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<PriceUpdateMessage> changed = transactionTemplate.execute(status -> {
+            List<PriceUpdateMessage> rows = productPriceRepository.applyPriceUpdates(updates.values(), LocalDateTime.now());
+            if (!rows.isEmpty()) {
+                List<Long> productIds = rows.stream().map(PriceUpdateMessage::getProductId).toList();
+                for (Product product : productRepository.findAllById(productIds)) {
+                    productEventService.recordProductEvent(product, ProductEventType.PRODUCT_UPDATED);
+                }
+                eventPublisher.publishEvent(new ProductChangedEvent(productIds, ProductEventType.PRODUCT_UPDATED));
+            }
+            return rows;
+        });
+        batchSizes.record(updates.size());
+        applied.increment(changed.size());
+        log.debug("Applied {} of {} price updates from {} records", changed.size(), updates.size(), records.size());
+    }
+
+    private PriceUpdateMessage parse(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            return null;
+        }
+        PriceUpdateMessage update;
+        try {
+            update = objectMapper.readValue(record.value(), PriceUpdateMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable price update at {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), e.getOriginalMessage());
+            return null;
+        }
+        if (update.getProductId() == null || (update.getPrice() == null && update.getAvailable() == null)) {
+            log.warn("Skipping incomplete price update at {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return null;
+        }
+        if (update.getPrice() != null) {
+            BigDecimal price = update.getPrice().setScale(2, RoundingMode.HALF_UP);
+            if (price.signum() <= 0 || price.compareTo(MAX_PRICE) > 0) {
+                log.warn("Skipping price update with out of range price {} for product ID: {}", update.getPrice(), update.getProductId());
+                return null;
+            }
+            update.setPrice(price);
+        }
+        return update;
+    }
+}
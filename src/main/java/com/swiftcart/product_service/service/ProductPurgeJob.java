@@ -0,0 +1,89 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.config.ProductPurgeProperties;
+import com.swiftcart.product_service.repository.ProductPurgeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Purges soft-deleted products. Ratings and reviews are removed in bounded, individually committed chunks
+ * and the product row last, so the soft-delete flag itself records what is left to do and an interrupted
+ * purge simply resumes on the next run, here or on another instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductPurgeJob {
+
+    private final ProductPurgeRepository productPurgeRepository;
+    private final ProductPurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong pendingProducts = new AtomicLong();
+    private final Counter purgedProducts;
+    private final Counter purgedRatings;
+    private final Counter purgedReviews;
+
+    @Autowired
+    public ProductPurgeJob(ProductPurgeRepository productPurgeRepository, ProductPurgeProperties properties,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.productPurgeRepository = productPurgeRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("product.purge.pending", pendingProducts);
+        this.purgedProducts = meterRegistry.counter("product.purge.products");
+        this.purgedRatings = meterRegistry.counter("product.purge.rows", "table", "ratings");
+        this.purgedReviews = meterRegistry.counter("product.purge.rows", "table", "reviews");
+    }
+
+    @Scheduled(fixedDelayString = "${product.purge.interval:PT10S}")
+    public void purgeDeletedProducts() {
+        try {
+            pendingProducts.set(productPurgeRepository.countDeletedProducts());
+            List<Long> productIds = productPurgeRepository.findDeletedProductIds(properties.getProductsPerRun());
+            for (Long productId : productIds) {
+                purge(productId);
+                pendingProducts.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Product purge failed, remaining deleted products will be retried: {}", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void purge(Long productId) throws InterruptedException {
+        long ratings = deleteInChunks(productId, purgedRatings, id -> productPurgeRepository.deleteRatingsChunk(id, properties.getChunkSize()));
+        long reviews = deleteInChunks(productId, purgedReviews, id -> productPurgeRepository.deleteReviewsChunk(id, properties.getChunkSize()));
+        Boolean deleted = transactionTemplate.execute(status -> productPurgeRepository.deleteProduct(productId));
+        if (Boolean.TRUE.equals(deleted)) {
+            purgedProducts.increment();
+        }
+        log.debug("Purged product {} with {} ratings and {} reviews", productId, ratings, reviews);
+    }
+
+    private long deleteInChunks(Long productId, Counter purgedRows, ToIntFunction<Long> deleteChunk) throws InterruptedException {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(productId);
+            purgedRows.increment(deleted);
+            total += deleted;
+            if (deleted == properties.getChunkSize() && !properties.getChunkPause().isZero()) {
+                Thread.sleep(properties.getChunkPause().toMillis());
+            }
+        } while (deleted == properties.getChunkSize());
+        return total;
+    }
+}
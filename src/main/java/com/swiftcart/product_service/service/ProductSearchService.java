@@ -0,0 +1,101 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.config.ProductSearchProperties;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.PriceRangeFacetDTO;
+import com.swiftcart.product_service.dto.ProductSearchCriteria;
+import com.swiftcart.product_service.dto.ProductSearchResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.repository.ProductSearchRepository;
+import org.apache.kafka.common.errors.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ProductSearchService {
+
+    private final ProductSearchRepository productSearchRepository;
+    private final RatingService ratingService;
+    private final ProductSearchProperties properties;
+
+    @Autowired
+    public ProductSearchService(ProductSearchRepository productSearchRepository, RatingService ratingService,
+                                ProductSearchProperties properties) {
+        this.productSearchRepository = productSearchRepository;
+        this.ratingService = ratingService;
+        this.properties = properties;
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSearchResponseDTO searchProducts(String query, List<String> categories, BigDecimal minPrice, BigDecimal maxPrice,
+                                                   List<String> variants, int page, int size) {
+        if (size < 1 || size > properties.getMaxPageSize()) {
+            throw new InvalidRequestException("Page size should be between 1 and " + properties.getMaxPageSize());
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("Page should not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidRequestException("minPrice should not be greater than maxPrice");
+        }
+
+        ProductSearchCriteria criteria = new ProductSearchCriteria();
+        criteria.setQuery(query == null || query.isBlank() ? null : query.trim());
+        criteria.setCategories(categories);
+        criteria.setMinPrice(minPrice);
+        criteria.setMaxPrice(maxPrice);
+        criteria.setVariantOptions(parseVariantOptions(variants));
+
+        List<PagedProductResponseDTO> content = productSearchRepository.search(criteria, (long) page * size, size);
+        if (!content.isEmpty()) {
+            Map<Long, RatingSummaryDTO> summaries = ratingService.getRatingSummaries(content.stream().map(PagedProductResponseDTO::getProductId).toList());
+            content.forEach(product -> product.setRatingSummary(summaries.get(product.getProductId())));
+        }
+
+        ProductSearchResponseDTO response = new ProductSearchResponseDTO();
+        response.setContent(content);
+        response.setPage(page);
+        response.setSize(size);
+        response.setTotalHits(content.size() < size && (page == 0 || !content.isEmpty())
+                ? (long) page * size + content.size()
+                : productSearchRepository.count(criteria));
+        response.setCategoryFacets(productSearchRepository.countByCategory(criteria, properties.getCategoryFacetLimit()));
+        response.setPriceFacets(priceFacets(criteria));
+        return response;
+    }
+
+    private List<PriceRangeFacetDTO> priceFacets(ProductSearchCriteria criteria) {
+        List<BigDecimal> thresholds = new ArrayList<>();
+        thresholds.add(BigDecimal.ZERO);
+        thresholds.addAll(properties.getPriceRangeBounds());
+        Map<Integer, Long> counts = productSearchRepository.countByPriceBucket(criteria, thresholds);
+        List<PriceRangeFacetDTO> facets = new ArrayList<>(thresholds.size());
+        for (int bucket = 1; bucket <= thresholds.size(); bucket++) {
+            BigDecimal to = bucket < thresholds.size() ? thresholds.get(bucket) : null;
+            facets.add(new PriceRangeFacetDTO(thresholds.get(bucket - 1), to, counts.getOrDefault(bucket, 0L)));
+        }
+        return facets;
+    }
+
+    static Map<String, List<String>> parseVariantOptions(List<String> variants) {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        if (variants == null) {
+            return options;
+        }
+        for (String variant : variants) {
+            int separator = variant.indexOf(':');
+            if (separator <= 0 || separator == variant.length() - 1) {
+                throw new InvalidRequestException("Variant filter should look like attribute:value but was: " + variant);
+            }
+            options.computeIfAbsent(variant.substring(0, separator), attribute -> new ArrayList<>()).add(variant.substring(separator + 1));
+        }
+        return options;
+    }
+}
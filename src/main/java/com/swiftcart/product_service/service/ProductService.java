@@ -1,73 +1,333 @@
 package com.swiftcart.product_service.service;
 
+import com.swiftcart.product_service.cache.DuplicateKeyFilter;
+import com.swiftcart.product_service.cache.ProductCache;
+import com.swiftcart.product_service.cache.ProductListingIndex;
+import com.swiftcart.product_service.cache.ProductPayload;
+import com.swiftcart.product_service.config.ProductLookupProperties;
 import com.swiftcart.product_service.dto.CreateProductDTO;
+import com.swiftcart.product_service.dto.CursorPageResponseDTO;
 import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import com.swiftcart.product_service.dto.ProductBatchResponseDTO;
+import com.swiftcart.product_service.dto.ProductCursor;
+import com.swiftcart.product_service.dto.ProductListingFilter;
 import com.swiftcart.product_service.dto.ProductResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import com.swiftcart.product_service.dto.UpdateProductDTO;
 import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.enums.ProductField;
+import com.swiftcart.product_service.enums.ProductSortField;
+import com.swiftcart.product_service.event.ProductChangedEvent;
 import com.swiftcart.product_service.mapper.ProductMapper;
 import com.swiftcart.product_service.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import org.apache.kafka.common.errors.DuplicateResourceException;
+import org.apache.kafka.common.errors.InvalidRequestException;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 
 @Service
+@Timed("product.service")
 public class ProductService {
 
+    private static final int MAX_SCROLL_SIZE = 200;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ProductCache productCache;
+    private final ProductEventService productEventService;
+    private final RatingService ratingService;
+    private final CursorCodec cursorCodec;
+    private final ProductLoader productLoader;
+    private final ProductLookupProperties lookupProperties;
+    private final VersionConflictRetry versionConflictRetry;
+    private final DuplicateKeyFilter duplicateKeyFilter;
+    private final ProductListingIndex productListingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper) {
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper, ProductCache productCache,
+                          ProductEventService productEventService, RatingService ratingService, CursorCodec cursorCodec,
+                          ProductLoader productLoader, ProductLookupProperties lookupProperties,
+                          VersionConflictRetry versionConflictRetry, DuplicateKeyFilter duplicateKeyFilter,
+                          ProductListingIndex productListingIndex, ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.productCache = productCache;
+        this.productEventService = productEventService;
+        this.ratingService = ratingService;
+        this.cursorCodec = cursorCodec;
+        this.productLoader = productLoader;
+        this.lookupProperties = lookupProperties;
+        this.versionConflictRetry = versionConflictRetry;
+        this.duplicateKeyFilter = duplicateKeyFilter;
+        this.productListingIndex = productListingIndex;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional
     public ProductResponseDTO createProduct(CreateProductDTO dto) {
-        if (productRepository.findByName(dto.getName()).isPresent()) {
+        long nameKey = DuplicateKeyFilter.keyOf(dto.getName());
+        if (duplicateKeyFilter.isDuplicate(DuplicateKeyType.PRODUCT_NAME, nameKey, () -> productRepository.findByName(dto.getName()).isPresent())) {
             throw new DuplicateResourceException("Product name already exists");
         }
-        Product savedProduct = productRepository.save(productMapper.toProductEntity(dto));
+        Product savedProduct = UniqueConstraints.write(() -> productRepository.saveAndFlush(productMapper.toProductEntity(dto)),
+                UniqueConstraints.PRODUCT_NAME, () -> new DuplicateResourceException("Product name already exists"));
+        duplicateKeyFilter.add(DuplicateKeyType.PRODUCT_NAME, nameKey);
+        productEventService.recordProductEvent(savedProduct, ProductEventType.PRODUCT_CREATED);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductId(), ProductEventType.PRODUCT_CREATED));
         return productMapper.toProductResponseDTO(savedProduct);
     }
 
-    @Transactional
-    public Page<PagedProductResponseDTO> getAllProducts(int page, int size, String sortBy, String direction) {
+    /**
+     * Serves the page from the listing index when it can answer the query, without borrowing a connection; only
+     * the database fallback runs in a read-only transaction.
+     */
+    public Page<PagedProductResponseDTO> getAllProducts(int page, int size, String sortBy, String direction, List<String> exclude,
+                                                        BigDecimal minPrice, BigDecimal maxPrice, List<String> categories,
+                                                        List<String> variants) {
         Sort sort = direction.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page,size, sort);
-        Page<Product> pagedProducts = productRepository.findAll(pageable);
-        return pagedProducts.map(productMapper::toPagedProductResponseDTO);
+        Set<ProductField> excludedFields = excludedFields(exclude);
+        ProductListingFilter filter = listingFilter(minPrice, maxPrice, categories, variants);
+        Optional<Page<Long>> indexed = productListingIndex.findPage(pageable, filter);
+        if (indexed.isPresent()) {
+            return hydrate(indexed.get(), excludedFields);
+        }
+        if (sortBy.equals(ProductListingIndex.AVERAGE_RATING)) {
+            throw new InvalidRequestException("Products can only be sorted by " + sortBy + " while the listing index is enabled and loaded");
+        }
+        return readOnlyTransaction.execute(status -> {
+            Page<PagedProductResponseDTO> pagedProducts = productRepository.findPage(pageable, excludedFields, filter);
+            withRatingSummaries(pagedProducts.getContent());
+            return pagedProducts;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<PagedProductResponseDTO> scrollProducts(int size, String sortBy, String direction, String cursor, List<String> exclude,
+                                                                         BigDecimal minPrice, BigDecimal maxPrice, List<String> categories,
+                                                                         List<String> variants) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new InvalidRequestException("Page size should be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        ProductCursor position = cursor == null ? new ProductCursor(sortBy, direction, null, null) : decodeCursor(cursor);
+        ProductSortField sortField = ProductSortField.fromProperty(position.getSortBy())
+                .orElseThrow(() -> new InvalidRequestException("Products can not be scrolled by: " + position.getSortBy()));
+        boolean ascending = position.getDirection().equalsIgnoreCase("asc");
+        Object lastSortValue = position.getLastValue() == null ? null : parseCursorValue(sortField, position.getLastValue(), cursor);
+
+        List<PagedProductResponseDTO> slice = productRepository.findSlice(sortField, ascending, lastSortValue, position.getLastProductId(),
+                size + 1, excludedFields(exclude), listingFilter(minPrice, maxPrice, categories, variants));
+        boolean hasNext = slice.size() > size;
+        List<PagedProductResponseDTO> page = hasNext ? slice.subList(0, size) : slice;
+        String nextCursor = null;
+        if (hasNext) {
+            PagedProductResponseDTO last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encode(new ProductCursor(sortField.getProperty(), ascending ? "asc" : "desc",
+                    sortField.formatValue(last), last.getProductId()));
+        }
+        return new CursorPageResponseDTO<>(withRatingSummaries(page), page.size(), hasNext, nextCursor);
+    }
+
+    private static ProductListingFilter listingFilter(BigDecimal minPrice, BigDecimal maxPrice, List<String> categories,
+                                                      List<String> variants) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new InvalidRequestException("minPrice should not be greater than maxPrice");
+        }
+        ProductListingFilter filter = new ProductListingFilter();
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        if (categories != null) {
+            filter.setCategories(categories.stream().map(String::trim).filter(category -> !category.isEmpty()).distinct().toList());
+        }
+        filter.setVariantOptions(ProductSearchService.parseVariantOptions(variants));
+        return filter;
+    }
+
+    private static Set<ProductField> excludedFields(List<String> exclude) {
+        Set<ProductField> fields = EnumSet.noneOf(ProductField.class);
+        if (exclude != null) {
+            for (String property : exclude) {
+                fields.add(ProductField.fromProperty(property.trim())
+                        .orElseThrow(() -> new InvalidRequestException("Product field can not be excluded: " + property)));
+            }
+        }
+        return fields;
+    }
+
+    private ProductCursor decodeCursor(String cursor) {
+        ProductCursor decoded = cursorCodec.decode(cursor, ProductCursor.class);
+        if (decoded.getSortBy() == null || decoded.getDirection() == null || decoded.getLastValue() == null || decoded.getLastProductId() == null) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+        return decoded;
+    }
+
+    private static Object parseCursorValue(ProductSortField sortField, String value, String cursor) {
+        try {
+            return sortField.parseValue(value);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
     }
 
-    @Transactional
     public PagedProductResponseDTO getProductById(Long id) {
-        Product fetchedProduct = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not available for this ID: " + id));
-        return productMapper.toPagedProductResponseDTO(fetchedProduct);
+        return productCache.get(id, () -> productLoader.load(id));
+    }
+
+    /**
+     * Version of the product representation, taken from the near cache when possible and otherwise from the
+     * product and rating summary timestamps alone. Only a miss borrows a connection.
+     */
+    public Optional<ResourceVersion> getProductVersion(Long id) {
+        ProductPayload payload = productCache.getPayloadIfPresent(id);
+        if (payload != null) {
+            return Optional.of(payload.getVersion());
+        }
+        PagedProductResponseDTO cached = productCache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(ResourceVersion.ofProduct(cached));
+        }
+        return readOnlyTransaction.execute(status -> productRepository.findVersionById(id)
+                .map(version -> ResourceVersion.ofProduct(id, version.getProductUpdatedAt(), version.getRatingSummaryUpdatedAt())));
+    }
+
+    public boolean isPreSerialized() {
+        return productCache.isPreSerialized();
+    }
+
+    public ProductPayload getProductPayload(Long id) {
+        return productCache.getPayload(id, () -> productLoader.load(id));
+    }
+
+    public ProductBatchResponseDTO getProductsByIds(List<Long> ids) {
+        List<Long> distinctIds = batchIds(ids);
+        Map<Long, PagedProductResponseDTO> found = productCache.getAll(distinctIds, productLoader::loadAll);
+        List<PagedProductResponseDTO> products = distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+        List<Long> notFound = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        return new ProductBatchResponseDTO(products, notFound);
+    }
+
+    /**
+     * The {@link #getProductsByIds} document assembled from rendered products.
+     */
+    public byte[] getProductBatchPayload(List<Long> ids) {
+        List<Long> distinctIds = batchIds(ids);
+        Map<Long, ProductPayload> found = productCache.getAllPayloads(distinctIds, productLoader::loadAll);
+        List<ProductPayload> products = distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+        List<Long> notFound = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        return ProductPayload.batch(products, notFound);
+    }
+
+    private List<Long> batchIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > lookupProperties.getMaxBatchIds()) {
+            throw new InvalidRequestException("Number of product IDs should be between 1 and " + lookupProperties.getMaxBatchIds());
+        }
+        return distinctIds;
     }
 
     @Transactional
     public void deleteProductById(Long id) {
-        if (productRepository.findById(id).isEmpty()) {
+        if (productRepository.softDeleteById(id) == 0) {
             throw new ResourceNotFoundException("Product not available for this ID: "+ id +" to delete.");
         }
-        productRepository.deleteById(id);
+        ratingService.removeRatingSummary(id);
+        productEventService.recordProductEvent(id, ProductEventType.PRODUCT_DELETED, Map.of("productId", id));
+        eventPublisher.publishEvent(new ProductChangedEvent(id, ProductEventType.PRODUCT_DELETED));
     }
 
-    @Transactional
-    public PagedProductResponseDTO updateById(Long id, CreateProductDTO dto) {
-        Product fetchedProduct = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not available to update for this ID: "+ id));
-        Product result = productMapper.toUpdateEntity(dto, fetchedProduct.getProductId());
-        Product updatedProduct = productRepository.save(result);
-        return productMapper.toPagedProductResponseDTO(updatedProduct);
+    public PagedProductResponseDTO updateById(Long id, UpdateProductDTO dto, String ifMatch) {
+        return versionConflictRetry.execute(() -> {
+            Product fetchedProduct = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not available to update for this ID: "+ id));
+            if (ifMatch != null && !ResourceVersion.ofProduct(id, fetchedProduct.getUpdatedAt(),
+                    ratingService.getRatingSummaryUpdatedAt(id).orElse(null)).matches(ifMatch)) {
+                throw new PreconditionFailedException("Product has been modified since it was read for this ID: " + id);
+            }
+            Long previousVersion = fetchedProduct.getVersion();
+            productMapper.updateProduct(dto, fetchedProduct);
+            UniqueConstraints.write(() -> {
+                productRepository.flush();
+                return fetchedProduct;
+            }, UniqueConstraints.PRODUCT_NAME, () -> new DuplicateResourceException("Product name already exists"));
+            if (dto.getName() != null) {
+                duplicateKeyFilter.add(DuplicateKeyType.PRODUCT_NAME, DuplicateKeyFilter.keyOf(dto.getName()));
+            }
+            if (!previousVersion.equals(fetchedProduct.getVersion())) {
+                productEventService.recordProductEvent(fetchedProduct, ProductEventType.PRODUCT_UPDATED);
+                eventPublisher.publishEvent(new ProductChangedEvent(id, ProductEventType.PRODUCT_UPDATED));
+            }
+            return withRatingSummaries(List.of(productMapper.toPagedProductResponseDTO(fetchedProduct))).get(0);
+        });
+    }
+
+    /**
+     * Loads an index page through the product cache. Cached products are shared, so excluded fields are
+     * dropped on copies.
+     */
+    private Page<PagedProductResponseDTO> hydrate(Page<Long> ids, Set<ProductField> excludedFields) {
+        Map<Long, PagedProductResponseDTO> found = productCache.getAll(ids.getContent(), productLoader::loadAll);
+        List<PagedProductResponseDTO> content = ids.getContent().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(product -> excludedFields.isEmpty() ? product : withoutFields(product, excludedFields))
+                .toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private static PagedProductResponseDTO withoutFields(PagedProductResponseDTO product, Set<ProductField> excludedFields) {
+        PagedProductResponseDTO copy = new PagedProductResponseDTO();
+        copy.setProductId(product.getProductId());
+        copy.setName(product.getName());
+        copy.setPrice(product.getPrice());
+        copy.setCategory(product.getCategory());
+        copy.setImageUrl(product.getImageUrl());
+        copy.setAvailable(product.getAvailable());
+        copy.setCreatedAt(product.getCreatedAt());
+        copy.setUpdatedAt(product.getUpdatedAt());
+        copy.setRatingSummary(product.getRatingSummary());
+        if (!excludedFields.contains(ProductField.DESCRIPTION)) {
+            copy.setDescription(product.getDescription());
+        }
+        if (!excludedFields.contains(ProductField.VARIANTS)) {
+            copy.setVariants(product.getVariants());
+        }
+        return copy;
+    }
+
+    private List<PagedProductResponseDTO> withRatingSummaries(List<PagedProductResponseDTO> products) {
+        Map<Long, RatingSummaryDTO> summaries = ratingService.getRatingSummaries(
+                products.stream().map(PagedProductResponseDTO::getProductId).toList());
+        products.forEach(product -> product.setRatingSummary(summaries.get(product.getProductId())));
+        return products;
     }
 
 }
@@ -1,40 +1,77 @@
 package com.swiftcart.product_service.service;
 
+import com.swiftcart.product_service.cache.DuplicateKeyFilter;
 import com.swiftcart.product_service.dto.CreateRatingDTO;
 import com.swiftcart.product_service.dto.DeleteRatingDTO;
 import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.dto.RatingSummaryDTO;
+import com.swiftcart.product_service.dto.RatingUpsertResult;
+import com.swiftcart.product_service.dto.ResourceVersion;
 import com.swiftcart.product_service.entity.Product;
+import com.swiftcart.product_service.entity.ProductRatingSummary;
 import com.swiftcart.product_service.entity.Rating;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import com.swiftcart.product_service.event.ProductChangedEvent;
 import com.swiftcart.product_service.mapper.RatingMapper;
+import com.swiftcart.product_service.repository.ProductRatingSummaryRepository;
 import com.swiftcart.product_service.repository.ProductRepository;
 import com.swiftcart.product_service.repository.RatingRepository;
+import com.swiftcart.product_service.repository.RatingUpsertRepository;
+import io.micrometer.core.annotation.Timed;
 import org.apache.kafka.common.errors.DuplicateResourceException;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("product.service")
 public class RatingService {
 
+    private static final int UPSERT_ATTEMPTS = 3;
+
     private final RatingRepository ratingRepository;
+    private final RatingUpsertRepository ratingUpsertRepository;
     private final RatingMapper ratingMapper;
     private final ProductRepository productRepository;
+    private final ProductRatingSummaryRepository productRatingSummaryRepository;
+    private final VersionConflictRetry versionConflictRetry;
+    private final DuplicateKeyFilter duplicateKeyFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    RatingService(RatingRepository ratingRepository, RatingMapper ratingMapper, ProductRepository productRepository) {
+    RatingService(RatingRepository ratingRepository, RatingUpsertRepository ratingUpsertRepository, RatingMapper ratingMapper,
+                  ProductRepository productRepository, ProductRatingSummaryRepository productRatingSummaryRepository,
+                  VersionConflictRetry versionConflictRetry, DuplicateKeyFilter duplicateKeyFilter,
+                  ApplicationEventPublisher eventPublisher) {
         this.ratingRepository = ratingRepository;
+        this.ratingUpsertRepository = ratingUpsertRepository;
         this.ratingMapper = ratingMapper;
         this.productRepository = productRepository;
+        this.productRatingSummaryRepository = productRatingSummaryRepository;
+        this.versionConflictRetry = versionConflictRetry;
+        this.duplicateKeyFilter = duplicateKeyFilter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public RatingResponseDTO createRating(CreateRatingDTO dto, Long productId) {
-        Optional<Rating> existingRating = ratingRepository.findByCustomerIdAndProductId(dto.getCustomerId(), productId);
-        if (existingRating.isPresent()) {
-            throw new DuplicateResourceException("Existing Rating available for this product ID: "+productId+" by this customer ID: "+ dto.getCustomerId()); }
+        long ratingKey = DuplicateKeyFilter.keyOf(productId, dto.getCustomerId());
+        if (duplicateKeyFilter.isDuplicate(DuplicateKeyType.RATING, ratingKey,
+                () -> ratingRepository.findByCustomerIdAndProductId(dto.getCustomerId(), productId).isPresent())) {
+            throw duplicateRating(dto, productId);
+        }
 
         Rating result = ratingMapper.toCreateEntity(dto);
 
@@ -42,21 +79,52 @@ public class RatingService {
                         .orElseThrow(()-> new ResourceNotFoundException("Product not found to add rating"));
         result.setProduct(product);
 
-        Rating savedRating = ratingRepository.save(result);
+        Rating savedRating = UniqueConstraints.write(() -> ratingRepository.save(result),
+                UniqueConstraints.RATING_PRODUCT_CUSTOMER, () -> duplicateRating(dto, productId));
+        duplicateKeyFilter.add(DuplicateKeyType.RATING, ratingKey);
+        applyRatingChange(productId, null, savedRating.getStarRating());
         return ratingMapper.toRatingResponseDTO(savedRating);
     }
 
+    /**
+     * Creates the customer's rating or replaces its star rating, without a prior lookup.
+     */
     @Transactional
-    public RatingResponseDTO updateRating(CreateRatingDTO dto, Long productId, Long ratingId) {
-        Optional<Rating> existingRating = ratingRepository.findByCustomerIdAndProductIdAndRatingId(dto.getCustomerId(), productId, ratingId);
-        if (existingRating.isEmpty()) {
-            throw new ResourceNotFoundException("Existing Rating not available to update for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId() + " Rating ID: "+ratingId); }
+    public RatingUpsertResult upsertRating(CreateRatingDTO dto, Long productId) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<RatingUpsertResult> result = ratingUpsertRepository.upsert(productId, dto.getCustomerId(), dto.getStarRating());
+            if (result.isPresent()) {
+                RatingUpsertResult upserted = result.get();
+                if (upserted.getOutcome() == UpsertOutcome.CREATED) {
+                    duplicateKeyFilter.add(DuplicateKeyType.RATING, DuplicateKeyFilter.keyOf(productId, dto.getCustomerId()));
+                    applyRatingChange(productId, null, dto.getStarRating());
+                } else if (upserted.getOutcome() == UpsertOutcome.UPDATED) {
+                    applyRatingChange(productId, upserted.getPreviousStarRating(), dto.getStarRating());
+                }
+                return upserted;
+            }
+            if (attempt == UPSERT_ATTEMPTS || !productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not found to add rating");
+            }
+        }
+    }
+
+    public RatingResponseDTO updateRating(CreateRatingDTO dto, Long productId, Long ratingId, String ifMatch) {
+        return versionConflictRetry.execute(() -> {
+            Rating existingRating = ratingRepository.findByCustomerIdAndProductIdAndRatingId(dto.getCustomerId(), productId, ratingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Existing Rating not available to update for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId() + " Rating ID: "+ratingId));
+            if (ifMatch != null && !ResourceVersion.ofRating(ratingId, existingRating.getVersion()).matches(ifMatch)) {
+                throw new PreconditionFailedException("Rating has been modified since it was read for this ID: " + ratingId);
+            }
 
-        Rating ratingEntity = ratingMapper.toCreateEntity(dto);
-        ratingEntity.setRatingId(ratingId);
-        ratingEntity.setProduct(existingRating.get().getProduct());
-        Rating response = ratingRepository.save(ratingEntity);
-        return ratingMapper.toRatingResponseDTO(response);
+            Integer previousStarRating = existingRating.getStarRating();
+            existingRating.setStarRating(dto.getStarRating());
+            ratingRepository.flush();
+            if (!previousStarRating.equals(dto.getStarRating())) {
+                applyRatingChange(productId, previousStarRating, dto.getStarRating());
+            }
+            return ratingMapper.toRatingResponseDTO(existingRating);
+        });
     }
 
     @Transactional
@@ -65,5 +133,74 @@ public class RatingService {
         if (existingRating.isEmpty()) {
             throw new ResourceNotFoundException("Existing Rating not available to delete for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId()+ " Rating ID: "+ratingId); }
         ratingRepository.deleteById(ratingId);
+        applyRatingChange(productId, existingRating.get().getStarRating(), null);
+    }
+
+    @Transactional(readOnly = true)
+    public RatingSummaryDTO getRatingSummary(Long productId) {
+        Optional<ProductRatingSummary> summary = productRatingSummaryRepository.findById(productId);
+        if (summary.isEmpty() && !productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not available for this ID: " + productId);
+        }
+        return ratingMapper.toRatingSummaryDTO(summary.orElseGet(() -> emptySummary(productId)));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getRatingSummaryVersion(Long productId) {
+        return getRatingSummaryUpdatedAt(productId).map(updatedAt -> ResourceVersion.ofRatingSummary(productId, updatedAt));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getRatingSummaryUpdatedAt(Long productId) {
+        return productRatingSummaryRepository.findUpdatedAtByProductId(productId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, RatingSummaryDTO> getRatingSummaries(Collection<Long> productIds) {
+        Map<Long, ProductRatingSummary> summaries = productRatingSummaryRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+        return productIds.stream()
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                        id -> ratingMapper.toRatingSummaryDTO(summaries.containsKey(id) ? summaries.get(id) : emptySummary(id))));
+    }
+
+    @Transactional
+    public int rebuildRatingSummaries() {
+        return productRatingSummaryRepository.rebuildAll(LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeRatingSummary(Long productId) {
+        productRatingSummaryRepository.deleteByProductId(productId);
+    }
+
+    private void applyRatingChange(Long productId, Integer removedStarRating, Integer addedStarRating) {
+        long[] starDeltas = new long[6];
+        long countDelta = 0;
+        long sumDelta = 0;
+        if (removedStarRating != null) {
+            starDeltas[removedStarRating]--;
+            countDelta--;
+            sumDelta -= removedStarRating;
+        }
+        if (addedStarRating != null) {
+            starDeltas[addedStarRating]++;
+            countDelta++;
+            sumDelta += addedStarRating;
+        }
+        productRatingSummaryRepository.applyDelta(productId, countDelta, sumDelta,
+                starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5], LocalDateTime.now());
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductEventType.PRODUCT_UPDATED));
+    }
+
+    private static DuplicateResourceException duplicateRating(CreateRatingDTO dto, Long productId) {
+        return new DuplicateResourceException("Existing Rating available for this product ID: "+productId+" by this customer ID: "+ dto.getCustomerId());
+    }
+
+    private static ProductRatingSummary emptySummary(Long productId) {
+        ProductRatingSummary summary = new ProductRatingSummary();
+        summary.setProductId(productId);
+        return summary;
     }
 }
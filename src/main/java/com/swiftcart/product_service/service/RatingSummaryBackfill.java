@@ -0,0 +1,27 @@
+package com.swiftcart.product_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.ratings", name = "rebuild-summaries-on-startup", havingValue = "true")
+public class RatingSummaryBackfill {
+
+    private final RatingService ratingService;
+
+    @Autowired
+    public RatingSummaryBackfill(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRatingSummaries() {
+        int products = ratingService.rebuildRatingSummaries();
+        log.info("Rebuilt rating summaries for {} products", products);
+    }
+}
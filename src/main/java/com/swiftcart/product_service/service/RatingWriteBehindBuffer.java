@@ -0,0 +1,326 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.cache.DuplicateKeyFilter;
+import com.swiftcart.product_service.cache.ProductCache;
+import com.swiftcart.product_service.cache.ProductListingIndex;
+import com.swiftcart.product_service.config.RatingWriteBehindProperties;
+import com.swiftcart.product_service.dto.CreateRatingDTO;
+import com.swiftcart.product_service.dto.PendingRating;
+import com.swiftcart.product_service.dto.RatingResponseDTO;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.enums.ProductEventType;
+import com.swiftcart.product_service.event.ProductChangedEvent;
+import com.swiftcart.product_service.repository.RatingBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.DuplicateResourceException;
+import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Accepts new ratings into lock-striped per-product queues and writes them in batches from its own flusher
+ * thread, so a submission never waits on the database. Products the listing index knows to be missing are
+ * rejected up front, and a (productId, customerId) pair stays claimed from submission until its batch commits,
+ * so duplicates within the buffer are rejected without a query. Everything else is left to the batch insert:
+ * rows it skips (unknown or deleted product, customer who already rated) are counted and logged, and a rating
+ * whose batch keeps failing is dropped after {@code max-flush-attempts}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "product.ratings.write-behind", name = "enabled", havingValue = "true")
+public class RatingWriteBehindBuffer {
+
+    private final RatingBatchRepository ratingBatchRepository;
+    private final ProductCache productCache;
+    private final ProductListingIndex productListingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateKeyFilter duplicateKeyFilter;
+    private final RatingWriteBehindProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final Counter accepted;
+    private final Counter written;
+    private final Counter rejected;
+    private final Counter retriesExhausted;
+    private final Counter failedFlushes;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public RatingWriteBehindBuffer(RatingBatchRepository ratingBatchRepository, ProductCache productCache,
+                                   ProductListingIndex productListingIndex, ApplicationEventPublisher eventPublisher,
+                                   DuplicateKeyFilter duplicateKeyFilter, RatingWriteBehindProperties properties, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.ratingBatchRepository = ratingBatchRepository;
+        this.productCache = productCache;
+        this.productListingIndex = productListingIndex;
+        this.eventPublisher = eventPublisher;
+        this.duplicateKeyFilter = duplicateKeyFilter;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new Stripe[Math.max(1, properties.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.accepted = meterRegistry.counter("product.ratings.write-behind.accepted");
+        this.written = meterRegistry.counter("product.ratings.write-behind.written");
+        this.rejected = meterRegistry.counter("product.ratings.write-behind.dropped", "reason", "rejected");
+        this.retriesExhausted = meterRegistry.counter("product.ratings.write-behind.dropped", "reason", "retries-exhausted");
+        this.failedFlushes = meterRegistry.counter("product.ratings.write-behind.flush.failures");
+        this.batchSizes = DistributionSummary.builder("product.ratings.write-behind.batch.size").register(meterRegistry);
+        Gauge.builder("product.ratings.write-behind.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Buffers a new rating, or returns empty when {@code max-pending} ratings are already waiting and the caller
+     * should write it directly.
+     */
+    public Optional<RatingResponseDTO> submit(CreateRatingDTO dto, Long productId) {
+        if (productCache.getIfPresent(productId) == null && productListingIndex.isKnownMissing(productId)) {
+            throw new ResourceNotFoundException("Product not found to add rating");
+        }
+
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            Set<Long> claimed = stripe.claimedCustomers.get(productId);
+            if (claimed != null && claimed.contains(dto.getCustomerId())) {
+                throw duplicateRating(dto, productId);
+            }
+            if (pendingCount.get() >= properties.getMaxPending()) {
+                requestFlush();
+                return Optional.empty();
+            }
+            stripe.claimedCustomers.computeIfAbsent(productId, id -> new HashSet<>()).add(dto.getCustomerId());
+            stripe.pending.add(new PendingRating(productId, dto.getCustomerId(), dto.getStarRating()));
+        } finally {
+            stripe.lock.unlock();
+        }
+        accepted.increment();
+        if (pendingCount.incrementAndGet() >= properties.getFlushBatchSize()) {
+            requestFlush();
+        }
+
+        RatingResponseDTO response = new RatingResponseDTO();
+        response.setProductId(productId);
+        response.setCustomerId(dto.getCustomerId());
+        response.setStarRating(dto.getStarRating());
+        return Optional.of(response);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushPending();
+        } catch (RuntimeException e) {
+            log.error("Flushing buffered ratings failed", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flusher.shutdown();
+        flushLock.lock();
+        try {
+            int attempts = 0;
+            while (pendingCount.get() > 0 && attempts++ < 3) {
+                flushPending();
+            }
+            if (pendingCount.get() > 0) {
+                log.error("Dropping {} buffered ratings that could not be written on shutdown", pendingCount.get());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes the flusher ahead of the next interval; requests made while one is queued are folded into it.
+     */
+    private void requestFlush() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            flushRequested.set(false);
+        }
+    }
+
+    private void flushPending() {
+        List<PendingRating> drained = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.pending.isEmpty()) {
+                    drained.addAll(stripe.pending);
+                    stripe.pending = new ArrayList<>();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        pendingCount.addAndGet(-drained.size());
+
+        for (int from = 0; from < drained.size(); from += properties.getFlushBatchSize()) {
+            List<PendingRating> batch = drained.subList(from, Math.min(drained.size(), from + properties.getFlushBatchSize()));
+            try {
+                writeBatch(batch);
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                List<PendingRating> retries = new ArrayList<>(batch.size());
+                List<PendingRating> exhausted = new ArrayList<>();
+                for (PendingRating rating : batch) {
+                    rating.setFailedFlushes(rating.getFailedFlushes() + 1);
+                    (rating.getFailedFlushes() < properties.getMaxFlushAttempts() ? retries : exhausted).add(rating);
+                }
+                log.warn("Rating batch of {} failed, re-queued {} for the next flush: {}", batch.size(), retries.size(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                requeue(retries);
+                if (!exhausted.isEmpty()) {
+                    release(exhausted);
+                    retriesExhausted.increment(exhausted.size());
+                    log.error("Dropping {} buffered ratings after {} failed flushes", exhausted.size(), properties.getMaxFlushAttempts());
+                }
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingRating> batch) {
+        LocalDateTime writtenAt = LocalDateTime.now();
+        Map<Long, long[]> deltas = transactionTemplate.execute(status -> {
+            Map<Long, long[]> deltasByProductId = new LinkedHashMap<>();
+            for (long[] inserted : ratingBatchRepository.insertNewRatings(batch, writtenAt)) {
+                long[] delta = deltasByProductId.computeIfAbsent(inserted[0], id -> new long[7]);
+                delta[0]++;
+                delta[1] += inserted[1];
+                delta[1 + (int) inserted[1]]++;
+            }
+            if (!deltasByProductId.isEmpty()) {
+                ratingBatchRepository.applySummaryDeltas(deltasByProductId, writtenAt);
+            }
+            return deltasByProductId;
+        });
+        for (PendingRating rating : batch) {
+            duplicateKeyFilter.add(DuplicateKeyType.RATING, DuplicateKeyFilter.keyOf(rating.getProductId(), rating.getCustomerId()));
+        }
+        release(batch);
+
+        long insertedCount = deltas.values().stream().mapToLong(delta -> delta[0]).sum();
+        batchSizes.record(batch.size());
+        written.increment(insertedCount);
+        if (insertedCount < batch.size()) {
+            rejected.increment(batch.size() - insertedCount);
+            log.warn("Dropped {} of {} buffered ratings: the product does not exist or the customer had already rated it",
+                    batch.size() - insertedCount, batch.size());
+        }
+        if (!deltas.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(deltas.keySet(), ProductEventType.PRODUCT_UPDATED));
+        }
+    }
+
+    private void release(List<PendingRating> batch) {
+        Map<Stripe, List<PendingRating>> byStripe = groupByStripe(batch);
+        byStripe.forEach((stripe, ratings) -> {
+            stripe.lock.lock();
+            try {
+                for (PendingRating rating : ratings) {
+                    Set<Long> customers = stripe.claimedCustomers.get(rating.getProductId());
+                    if (customers != null && customers.remove(rating.getCustomerId()) && customers.isEmpty()) {
+                        stripe.claimedCustomers.remove(rating.getProductId());
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+
+    private void requeue(List<PendingRating> batch) {
+        Map<Stripe, List<PendingRating>> byStripe = groupByStripe(batch);
+        byStripe.forEach((stripe, ratings) -> {
+            stripe.lock.lock();
+            try {
+                stripe.pending.addAll(ratings);
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+        pendingCount.addAndGet(batch.size());
+    }
+
+    private static DuplicateResourceException duplicateRating(CreateRatingDTO dto, Long productId) {
+        return new DuplicateResourceException("Existing Rating available for this product ID: "+productId+" by this customer ID: "+ dto.getCustomerId());
+    }
+
+    private Map<Stripe, List<PendingRating>> groupByStripe(List<PendingRating> ratings) {
+        Map<Stripe, List<PendingRating>> byStripe = new HashMap<>();
+        for (PendingRating rating : ratings) {
+            byStripe.computeIfAbsent(stripeFor(rating.getProductId()), stripe -> new ArrayList<>()).add(rating);
+        }
+        return byStripe;
+    }
+
+    private Stripe stripeFor(Long productId) {
+        return stripes[Math.floorMod(Long.hashCode(productId), stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Set<Long>> claimedCustomers = new HashMap<>();
+        private List<PendingRating> pending = new ArrayList<>();
+    }
+}
@@ -1,36 +1,83 @@
 package com.swiftcart.product_service.service;
 
+import com.swiftcart.product_service.cache.DuplicateKeyFilter;
+import com.swiftcart.product_service.cache.ReviewPageCache;
+import com.swiftcart.product_service.config.ReviewProperties;
 import com.swiftcart.product_service.dto.*;
 import com.swiftcart.product_service.entity.Product;
 import com.swiftcart.product_service.entity.Review;
+import com.swiftcart.product_service.enums.DuplicateKeyType;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import com.swiftcart.product_service.event.ReviewChangedEvent;
 import com.swiftcart.product_service.mapper.ReviewMapper;
 import com.swiftcart.product_service.repository.ProductRepository;
 import com.swiftcart.product_service.repository.ReviewRepository;
+import com.swiftcart.product_service.repository.ReviewUpsertRepository;
+import io.micrometer.core.annotation.Timed;
 import org.apache.kafka.common.errors.DuplicateResourceException;
+import org.apache.kafka.common.errors.InvalidRequestException;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("product.service")
 public class ReviewService {
+    private static final int UPSERT_ATTEMPTS = 3;
+
     private final ReviewRepository reviewRepository;
+    private final ReviewUpsertRepository reviewUpsertRepository;
     private final ProductRepository productRepository;
     private final ReviewMapper reviewMapper;
+    private final ReviewPageCache reviewPageCache;
+    private final CursorCodec cursorCodec;
+    private final ReviewProperties properties;
+    private final VersionConflictRetry versionConflictRetry;
+    private final DuplicateKeyFilter duplicateKeyFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository, ProductRepository productRepository, ReviewMapper reviewMapper) {
+    public ReviewService(ReviewRepository reviewRepository, ReviewUpsertRepository reviewUpsertRepository,
+                         ProductRepository productRepository, ReviewMapper reviewMapper,
+                         ReviewPageCache reviewPageCache, CursorCodec cursorCodec, ReviewProperties properties,
+                         VersionConflictRetry versionConflictRetry, DuplicateKeyFilter duplicateKeyFilter,
+                         ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.reviewUpsertRepository = reviewUpsertRepository;
         this.productRepository = productRepository;
         this.reviewMapper = reviewMapper;
+        this.reviewPageCache = reviewPageCache;
+        this.cursorCodec = cursorCodec;
+        this.properties = properties;
+        this.versionConflictRetry = versionConflictRetry;
+        this.duplicateKeyFilter = duplicateKeyFilter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ReviewResponseDTO> getReviews(Long productId, Integer size, String cursor) {
+        int pageSize = size == null ? properties.getPageSize() : size;
+        if (pageSize < 1 || pageSize > properties.getMaxPageSize()) {
+            throw new InvalidRequestException("Page size should be between 1 and " + properties.getMaxPageSize());
+        }
+        if (cursor == null && pageSize == properties.getPageSize()) {
+            return reviewPageCache.getFirstPage(productId, id -> loadReviews(id, pageSize, null));
+        }
+        return loadReviews(productId, pageSize, cursor == null ? null : cursorCodec.decode(cursor, ReviewCursor.class));
     }
 
     @Transactional
     public ReviewResponseDTO createReview(CreateReviewDTO dto, Long productId) {
-        if (reviewRepository.findByCustomerIdAndProductId(dto.getCustomerId(), productId).isPresent()) {
-            throw new DuplicateResourceException("Review already exists for this Product ID :"+productId+" by this Customer ID: "+dto.getCustomerId());
+        long reviewKey = DuplicateKeyFilter.keyOf(productId, dto.getCustomerId());
+        if (duplicateKeyFilter.isDuplicate(DuplicateKeyType.REVIEW, reviewKey,
+                () -> reviewRepository.findByCustomerIdAndProductId(dto.getCustomerId(), productId).isPresent())) {
+            throw duplicateReview(dto, productId);
         }
         Review result = reviewMapper.toEntity(dto, productId);
 
@@ -39,20 +86,52 @@ public class ReviewService {
 
         result.setProduct(fetchedProduct);
 
-        Review savedReview = reviewRepository.save(result);
+        Review savedReview = UniqueConstraints.write(() -> reviewRepository.save(result),
+                UniqueConstraints.REVIEW_PRODUCT_CUSTOMER, () -> duplicateReview(dto, productId));
+        duplicateKeyFilter.add(DuplicateKeyType.REVIEW, reviewKey);
+        eventPublisher.publishEvent(new ReviewChangedEvent(productId));
         return reviewMapper.toResponseDTO(savedReview);
     }
 
+    /**
+     * Creates the customer's review or replaces its text, without a prior lookup.
+     */
     @Transactional
-    public ReviewResponseDTO updateReview(CreateReviewDTO dto, Long productId, Long reviewId) {
-        Optional<Review> existingReview = reviewRepository.findByCustomerIdAndProductIdAndReviewId(dto.getCustomerId(), productId, reviewId);
-        if (existingReview.isEmpty()) {
-            throw new ResourceNotFoundException("Existing Review not available to update for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId() + " Review ID: "+reviewId); }
+    public ReviewUpsertResult upsertReview(CreateReviewDTO dto, Long productId) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<ReviewUpsertResult> result = reviewUpsertRepository.upsert(productId, dto.getCustomerId(), dto.getReviewText());
+            if (result.isPresent()) {
+                ReviewUpsertResult upserted = result.get();
+                if (upserted.getOutcome() == UpsertOutcome.CREATED) {
+                    duplicateKeyFilter.add(DuplicateKeyType.REVIEW, DuplicateKeyFilter.keyOf(productId, dto.getCustomerId()));
+                }
+                if (upserted.getOutcome() != UpsertOutcome.UNCHANGED) {
+                    eventPublisher.publishEvent(new ReviewChangedEvent(productId));
+                }
+                return upserted;
+            }
+            if (attempt == UPSERT_ATTEMPTS || !productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not available to add review");
+            }
+        }
+    }
 
-        Review reviewEntity = reviewMapper.toEntity(dto, productId);
-        reviewEntity.setReviewId(reviewId);
-        Review response = reviewRepository.save(reviewEntity);
-        return reviewMapper.toResponseDTO(response);
+    public ReviewResponseDTO updateReview(CreateReviewDTO dto, Long productId, Long reviewId, String ifMatch) {
+        return versionConflictRetry.execute(() -> {
+            Review existingReview = reviewRepository.findByCustomerIdAndProductIdAndReviewId(dto.getCustomerId(), productId, reviewId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Existing Review not available to update for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId() + " Review ID: "+reviewId));
+            if (ifMatch != null && !ResourceVersion.ofReview(reviewId, existingReview.getVersion()).matches(ifMatch)) {
+                throw new PreconditionFailedException("Review has been modified since it was read for this ID: " + reviewId);
+            }
+
+            Long previousVersion = existingReview.getVersion();
+            existingReview.setReviewText(dto.getReviewText());
+            reviewRepository.flush();
+            if (!previousVersion.equals(existingReview.getVersion())) {
+                eventPublisher.publishEvent(new ReviewChangedEvent(productId));
+            }
+            return reviewMapper.toResponseDTO(existingReview);
+        });
     }
 
     @Transactional
@@ -61,5 +140,29 @@ public class ReviewService {
         if (existingReview.isEmpty()) {
             throw new ResourceNotFoundException("Existing Review not available to delete for this Product ID: "+productId+" Customer ID: "+ dto.getCustomerId()+ " Review ID: "+ reviewId); }
         reviewRepository.deleteById(reviewId);
+        eventPublisher.publishEvent(new ReviewChangedEvent(productId));
+    }
+
+    private CursorPageResponseDTO<ReviewResponseDTO> loadReviews(Long productId, int size, ReviewCursor cursor) {
+        Limit limit = Limit.of(size + 1);
+        List<ReviewResponseDTO> reviews = cursor == null
+                ? reviewRepository.findNewestByProductId(productId, limit)
+                : reviewRepository.findNewestByProductIdBefore(productId, cursor.getLastCreatedAt(), cursor.getLastReviewId(), limit);
+        if (reviews.isEmpty() && cursor == null && !productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not available for this ID: " + productId);
+        }
+
+        boolean hasNext = reviews.size() > size;
+        List<ReviewResponseDTO> content = hasNext ? List.copyOf(reviews.subList(0, size)) : reviews;
+        String nextCursor = null;
+        if (hasNext) {
+            ReviewResponseDTO last = content.get(content.size() - 1);
+            nextCursor = cursorCodec.encode(new ReviewCursor(last.getCreatedAt(), last.getReviewId()));
+        }
+        return new CursorPageResponseDTO<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    private static DuplicateResourceException duplicateReview(CreateReviewDTO dto, Long productId) {
+        return new DuplicateResourceException("Review already exists for this Product ID :"+productId+" by this Customer ID: "+dto.getCustomerId());
     }
 }
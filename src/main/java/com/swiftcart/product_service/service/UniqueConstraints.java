@@ -0,0 +1,35 @@
+package com.swiftcart.product_service.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.function.Supplier;
+
+final class UniqueConstraints {
+
+    static final String PRODUCT_NAME = "uk_products_name";
+    static final String RATING_PRODUCT_CUSTOMER = "uk_ratings_product_customer";
+    static final String REVIEW_PRODUCT_CUSTOMER = "uk_reviews_product_customer";
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * Runs the write and turns a violation of the given unique constraint into the caller's duplicate error.
+     */
+    static <T> T write(Supplier<T> write, String constraintName, Supplier<? extends RuntimeException> duplicate) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isViolated(e, constraintName)) {
+                throw duplicate.get();
+            }
+            throw e;
+        }
+    }
+
+    static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && constraintName.equalsIgnoreCase(violation.getConstraintName());
+    }
+}
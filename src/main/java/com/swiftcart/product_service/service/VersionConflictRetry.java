@@ -0,0 +1,65 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.config.UpdateRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an update in its own transaction and re-runs it from a fresh read when the version check fails at flush.
+ * The update must re-load what it changes so each attempt sees the latest committed state.
+ */
+@Slf4j
+@Component
+public class VersionConflictRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final UpdateRetryProperties properties;
+    private final Counter conflicts;
+    private final Counter exhausted;
+
+    @Autowired
+    public VersionConflictRetry(PlatformTransactionManager transactionManager, UpdateRetryProperties properties, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.conflicts = meterRegistry.counter("product.updates.version.conflicts");
+        this.exhausted = meterRegistry.counter("product.updates.version.conflicts.exhausted");
+    }
+
+    public <T> T execute(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= properties.getMaxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+                log.debug("Version conflict on {} (attempt {}), retrying", e.getPersistentClassName(), attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long maxMillis = properties.getBackoff().toMillis() * attempt;
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis / 2, maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a conflicting update", e);
+        }
+    }
+}
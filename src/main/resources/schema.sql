@@ -0,0 +1,75 @@
+SELECT setval('products_seq', (SELECT max(product_id) FROM products))
+WHERE (SELECT max(product_id) FROM products) > (SELECT last_value FROM products_seq);
+
+SELECT setval('product_event_logs_seq', (SELECT max(event_id) FROM product_event_logs))
+WHERE (SELECT max(event_id) FROM product_event_logs) > (SELECT last_value FROM product_event_logs_seq);
+
+DO
+'DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE contype = ''f'' AND conrelid = ''product_event_logs''::regclass AND confrelid = ''products''::regclass LOOP
+        EXECUTE format(''ALTER TABLE product_event_logs DROP CONSTRAINT %I'', fk.conname);
+    END LOOP;
+END';
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+DROP INDEX IF EXISTS idx_products_variant_options;
+DROP FUNCTION IF EXISTS product_variant_options(jsonb);
+
+DROP INDEX IF EXISTS idx_reviews_product_created_at_review_id;
+CREATE INDEX IF NOT EXISTS idx_reviews_product_created_at_review_id_v2
+    ON reviews (product_id, created_at DESC, review_id DESC) INCLUDE (customer_id, review_text, updated_at, version);
+
+CREATE INDEX IF NOT EXISTS idx_products_deleted_at_product_id ON products (deleted_at, product_id) WHERE deleted_at IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION product_variant_rows(variants jsonb) RETURNS TABLE (attribute text, option_key text, option_value text)
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+'SELECT o.key, e.key, e.value #>> ''{}''
+ FROM jsonb_each(CASE WHEN jsonb_typeof(variants) = ''object'' THEN variants ELSE ''{}'' END) AS o
+ CROSS JOIN LATERAL (
+     SELECT v.key, v.value FROM jsonb_each(CASE WHEN jsonb_typeof(o.value) = ''object'' THEN o.value ELSE ''{}'' END) AS v
+     UNION ALL
+     SELECT (a.position - 1)::text, a.value FROM jsonb_array_elements(CASE WHEN jsonb_typeof(o.value) = ''array'' THEN o.value ELSE ''[]'' END) WITH ORDINALITY AS a(value, position)
+     UNION ALL
+     SELECT ''0'', o.value WHERE jsonb_typeof(o.value) NOT IN (''object'', ''array'')
+ ) AS e
+ WHERE jsonb_typeof(e.value) NOT IN (''null'', ''object'', ''array'')';
+
+CREATE OR REPLACE FUNCTION product_variant_values(variants jsonb) RETURNS jsonb
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS
+'SELECT coalesce(jsonb_object_agg(r.attribute, r.option_values), ''{}'')
+ FROM (SELECT attribute, jsonb_agg(option_value) AS option_values FROM product_variant_rows(variants) GROUP BY attribute) AS r';
+
+CREATE INDEX IF NOT EXISTS idx_products_variant_values ON products USING GIN (product_variant_values(variants) jsonb_path_ops);
+
+CREATE OR REPLACE FUNCTION sync_product_variants() RETURNS trigger
+    LANGUAGE plpgsql AS
+'BEGIN
+    IF TG_OP = ''UPDATE'' THEN
+        DELETE FROM product_variants WHERE product_id = NEW.product_id;
+    END IF;
+    INSERT INTO product_variants (product_id, attribute, option_key, option_value)
+    SELECT NEW.product_id, r.attribute, r.option_key, r.option_value FROM product_variant_rows(NEW.variants) AS r;
+    RETURN NULL;
+END';
+
+CREATE OR REPLACE TRIGGER trg_products_variants_insert AFTER INSERT ON products
+    FOR EACH ROW EXECUTE FUNCTION sync_product_variants();
+
+CREATE OR REPLACE TRIGGER trg_products_variants_update AFTER UPDATE OF variants ON products
+    FOR EACH ROW WHEN (OLD.variants IS DISTINCT FROM NEW.variants) EXECUTE FUNCTION sync_product_variants();
+
+INSERT INTO product_variants (product_id, attribute, option_key, option_value)
+SELECT p.product_id, r.attribute, r.option_key, r.option_value
+FROM products p CROSS JOIN LATERAL product_variant_rows(p.variants) AS r
+WHERE NOT EXISTS (SELECT 1 FROM product_variants)
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,114 @@
+package com.swiftcart.product_service.cache;
+
+import com.swiftcart.product_service.cache.ListingSnapshot.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingSnapshotTest {
+
+	private static final long ANY_MIN = Long.MIN_VALUE;
+	private static final long ANY_MAX = Long.MAX_VALUE;
+
+	private static ListingSnapshot catalog() {
+		ListingSnapshot.Builder builder = ListingSnapshot.builder();
+		builder.add(1, 500, "shoes", 10, 4);
+		builder.add(2, 300, "shirts", 20, 5);
+		builder.add(3, 500, "shoes", 30, 3);
+		builder.add(4, 100, "hats", 40, 4);
+		builder.add(5, 500, "shirts", 50, 2);
+		return builder.build();
+	}
+
+	private static long[] all(ListingSnapshot snapshot, SortKey key, boolean ascending) {
+		return snapshot.find(key, ascending, null, ANY_MIN, ANY_MAX, 0, snapshot.size());
+	}
+
+	@Test
+	void equalValuesAreOrderedByProductId() {
+		ListingSnapshot snapshot = catalog();
+
+		assertThat(all(snapshot, SortKey.PRICE, true)).containsExactly(4, 2, 1, 3, 5);
+		assertThat(all(snapshot, SortKey.AVERAGE_RATING, true)).containsExactly(5, 3, 1, 4, 2);
+	}
+
+	@Test
+	void descendingOrderReversesValuesAndTies() {
+		ListingSnapshot snapshot = catalog();
+
+		assertThat(all(snapshot, SortKey.PRICE, false)).containsExactly(5, 3, 1, 2, 4);
+		assertThat(all(snapshot, SortKey.AVERAGE_RATING, false)).containsExactly(2, 4, 1, 3, 5);
+		assertThat(all(snapshot, SortKey.PRODUCT_ID, false)).containsExactly(5, 4, 3, 2, 1);
+	}
+
+	@Test
+	void pagesSkipTheOffset() {
+		ListingSnapshot snapshot = catalog();
+
+		assertThat(snapshot.find(SortKey.PRODUCT_ID, true, null, ANY_MIN, ANY_MAX, 1, 2)).containsExactly(2, 3);
+		assertThat(snapshot.find(SortKey.CREATED_AT, false, null, ANY_MIN, ANY_MAX, 3, 10)).containsExactly(2, 1);
+	}
+
+	@Test
+	void categoryMaskCombinesWithPriceRange() {
+		ListingSnapshot snapshot = catalog();
+		BitSet shoesAndShirts = snapshot.categoryRows(List.of("shoes", "shirts"));
+
+		assertThat(snapshot.count(shoesAndShirts, 400, 500)).isEqualTo(3);
+		assertThat(snapshot.find(SortKey.CREATED_AT, false, shoesAndShirts, 400, 500, 0, 10)).containsExactly(5, 3, 1);
+		assertThat(snapshot.find(SortKey.PRICE, true, shoesAndShirts, 200, 400, 0, 10)).containsExactly(2);
+		assertThat(snapshot.count(snapshot.categoryRows(List.of("shirts")), 200, 400)).isEqualTo(1);
+	}
+
+	@Test
+	void unknownCategoryMatchesNothing() {
+		ListingSnapshot snapshot = catalog();
+		BitSet unknown = snapshot.categoryRows(List.of("gloves"));
+
+		assertThat(snapshot.count(unknown, ANY_MIN, ANY_MAX)).isZero();
+		assertThat(snapshot.find(SortKey.PRICE, true, unknown, ANY_MIN, ANY_MAX, 0, 10)).isEmpty();
+	}
+
+	@Test
+	void offsetBeyondTotalFindsNothing() {
+		ListingSnapshot snapshot = catalog();
+		BitSet shoes = snapshot.categoryRows(List.of("shoes"));
+
+		assertThat(snapshot.find(SortKey.PRICE, true, null, ANY_MIN, ANY_MAX, 10, 5)).isEmpty();
+		assertThat(snapshot.find(SortKey.PRICE, false, shoes, ANY_MIN, ANY_MAX, 2, 5)).isEmpty();
+		assertThat(snapshot.find(SortKey.PRICE, true, null, 200, 400, 1, 5)).isEmpty();
+	}
+
+	@Test
+	void patchInsertsUpdatesAndDeletesRows() {
+		ListingSnapshot snapshot = catalog();
+		ListingSnapshot.Builder changes = ListingSnapshot.builder();
+		changes.add(2, 300, "shoes", 20, 5);
+		changes.add(3, 50, "shoes", 30, 3);
+		changes.add(6, 500, "socks", 60, 1);
+
+		ListingSnapshot patched = snapshot.patch(new long[] {6, 4, 3, 2}, changes);
+
+		assertThat(patched.size()).isEqualTo(5);
+		assertThat(patched.contains(4)).isFalse();
+		assertThat(patched.contains(6)).isTrue();
+		assertThat(snapshot.contains(4)).isTrue();
+		assertThat(all(patched, SortKey.PRODUCT_ID, true)).containsExactly(1, 2, 3, 5, 6);
+		assertThat(all(patched, SortKey.PRICE, true)).containsExactly(3, 2, 1, 5, 6);
+		assertThat(all(patched, SortKey.PRICE, false)).containsExactly(6, 5, 1, 2, 3);
+		assertThat(all(patched, SortKey.AVERAGE_RATING, true)).containsExactly(6, 5, 3, 1, 2);
+		assertThat(patched.count(patched.categoryRows(List.of("hats")), ANY_MIN, ANY_MAX)).isZero();
+		assertThat(patched.find(SortKey.PRODUCT_ID, true, patched.categoryRows(List.of("shirts")), ANY_MIN, ANY_MAX, 0, 10))
+				.containsExactly(5);
+		assertThat(patched.find(SortKey.PRICE, true, patched.categoryRows(List.of("shoes")), 0, 400, 0, 10))
+				.containsExactly(3, 2);
+		assertThat(patched.find(SortKey.CREATED_AT, true, patched.categoryRows(List.of("socks")), ANY_MIN, ANY_MAX, 0, 10))
+				.containsExactly(6);
+
+		assertThat(all(snapshot, SortKey.PRICE, true)).containsExactly(4, 2, 1, 3, 5);
+	}
+
+}
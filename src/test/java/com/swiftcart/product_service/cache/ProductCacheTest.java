@@ -0,0 +1,123 @@
+package com.swiftcart.product_service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swiftcart.product_service.config.ProductCacheProperties;
+import com.swiftcart.product_service.dto.PagedProductResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private ValueOperations<String, String> valueOperations;
+
+	private ProductCacheProperties properties;
+	private ProductCache cache;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		properties = new ProductCacheProperties();
+		cache = new ProductCache(properties, redisTemplate, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+	}
+
+	private static PagedProductResponseDTO product(long id) {
+		PagedProductResponseDTO product = new PagedProductResponseDTO();
+		product.setProductId(id);
+		product.setName("Product " + id);
+		return product;
+	}
+
+	private String key(long id) {
+		return properties.getKeyPrefix() + id;
+	}
+
+	@Test
+	void loadKeepsItsWritesWithoutEviction() {
+		PagedProductResponseDTO loaded = cache.get(1L, () -> product(1));
+
+		assertThat(cache.getIfPresent(1L)).isSameAs(loaded);
+		verify(valueOperations).set(eq(key(1)), anyString(), any(Duration.class));
+		verify(redisTemplate, never()).delete(anyCollection());
+	}
+
+	@Test
+	void loadEvictedBeforeTheWriteSkipsIt() {
+		cache.get(1L, () -> {
+			cache.evict(1L);
+			return product(1);
+		});
+
+		assertThat(cache.getIfPresent(1L)).isNull();
+		verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+	}
+
+	@Test
+	void evictionDuringTheRemoteWriteRemovesTheWrittenValue() {
+		doAnswer(invocation -> {
+			cache.evict(1L);
+			return null;
+		}).when(valueOperations).set(eq(key(1)), anyString(), any(Duration.class));
+
+		cache.get(1L, () -> product(1));
+
+		verify(redisTemplate).delete(key(1));
+		verify(redisTemplate).delete(List.of(key(1)));
+		assertThat(cache.getIfPresent(1L)).isNull();
+	}
+
+	@Test
+	void evictionDuringTheBatchWriteRemovesOnlyTheEvictedValue() {
+		doAnswer(invocation -> {
+			cache.evict(2L);
+			return List.of();
+		}).when(redisTemplate).executePipelined(any(RedisCallback.class));
+		Function<Collection<Long>, Map<Long, PagedProductResponseDTO>> loader = ids -> Map.of(1L, product(1), 2L, product(2));
+
+		Map<Long, PagedProductResponseDTO> found = cache.getAll(List.of(1L, 2L), loader);
+
+		assertThat(found).containsOnlyKeys(1L, 2L);
+		verify(redisTemplate).delete(List.of(key(2)));
+		assertThat(cache.getIfPresent(1L)).isNotNull();
+		assertThat(cache.getIfPresent(2L)).isNull();
+	}
+
+	@Test
+	void disabledRedisIsNeverTouched() {
+		properties.setRedisEnabled(false);
+
+		cache.get(1L, () -> product(1));
+		cache.evict(1L);
+
+		verify(redisTemplate, never()).opsForValue();
+		verify(redisTemplate, never()).delete(anyString());
+	}
+
+}
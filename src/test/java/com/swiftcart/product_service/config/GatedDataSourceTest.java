@@ -0,0 +1,161 @@
+package com.swiftcart.product_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GatedDataSourceTest {
+
+	private static final Duration QUEUE_TIMEOUT = Duration.ofMillis(50);
+
+	private DataSource target;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		target = mock(DataSource.class);
+		when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	private GatedDataSource gate(int maxConcurrent) {
+		return new GatedDataSource(target, "primary", maxConcurrent, QUEUE_TIMEOUT, meterRegistry);
+	}
+
+	private double rejections() {
+		return meterRegistry.get("product.db.gate.rejections").counter().count();
+	}
+
+	private double active() {
+		return meterRegistry.get("product.db.gate.active").gauge().value();
+	}
+
+	@Test
+	void rejectsCallersBeyondTheLimitAfterTheQueueTimeout() throws SQLException {
+		GatedDataSource dataSource = gate(1);
+		dataSource.getConnection();
+
+		assertThatThrownBy(dataSource::getConnection)
+				.isInstanceOf(DatabaseGateTimeoutException.class)
+				.hasMessageContaining("1 in use");
+		assertThat(rejections()).isEqualTo(1);
+		verify(target, times(1)).getConnection();
+	}
+
+	@Test
+	void closingTheConnectionReleasesThePermit() throws SQLException {
+		GatedDataSource dataSource = gate(1);
+		Connection connection = dataSource.getConnection();
+		assertThat(active()).isEqualTo(1);
+
+		connection.close();
+
+		assertThat(active()).isZero();
+		dataSource.getConnection();
+		assertThat(rejections()).isZero();
+	}
+
+	@Test
+	void closingTwiceReleasesOnce() throws SQLException {
+		GatedDataSource dataSource = gate(2);
+		Connection first = dataSource.getConnection();
+		dataSource.getConnection();
+
+		first.close();
+		first.close();
+
+		dataSource.getConnection();
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseGateTimeoutException.class);
+	}
+
+	@Test
+	void failedCheckoutReleasesThePermit() throws SQLException {
+		GatedDataSource dataSource = gate(1);
+		SQLException poolTimeout = new SQLException("pool exhausted");
+		when(target.getConnection()).thenThrow(poolTimeout).thenAnswer(invocation -> mock(Connection.class));
+
+		assertThatThrownBy(dataSource::getConnection).isSameAs(poolTimeout);
+
+		assertThat(active()).isZero();
+		dataSource.getConnection();
+	}
+
+	@Test
+	void closeFailureStillReleasesThePermit() throws SQLException {
+		Connection broken = mock(Connection.class);
+		SQLException closeFailure = new SQLException("connection reset");
+		doThrow(closeFailure).when(broken).close();
+		when(target.getConnection()).thenReturn(broken);
+		GatedDataSource dataSource = gate(1);
+
+		assertThatThrownBy(dataSource.getConnection()::close).isSameAs(closeFailure);
+
+		assertThat(active()).isZero();
+	}
+
+	@Test
+	void delegatesCallsAndRethrowsTheirOwnExceptions() throws SQLException {
+		Connection connection = mock(Connection.class);
+		SQLException statementFailure = new SQLException("syntax error");
+		when(connection.isValid(1)).thenReturn(true);
+		when(connection.createStatement()).thenThrow(statementFailure);
+		when(target.getConnection()).thenReturn(connection);
+
+		Connection gated = gate(1).getConnection();
+
+		assertThat(gated.isValid(1)).isTrue();
+		assertThatThrownBy(gated::createStatement).isSameAs(statementFailure);
+	}
+
+	@Test
+	void unsetLimitFollowsTheHikariPoolSize() throws SQLException {
+		assertThat(checkoutsBeforeRejection(3)).isEqualTo(3);
+	}
+
+	@Test
+	void unstartedHikariPoolUsesTheHikariDefault() throws SQLException {
+		assertThat(checkoutsBeforeRejection(-1)).isEqualTo(10);
+	}
+
+	private int checkoutsBeforeRejection(int maximumPoolSize) throws SQLException {
+		HikariDataSource hikari = mock(HikariDataSource.class);
+		when(hikari.getMaximumPoolSize()).thenReturn(maximumPoolSize);
+		when(hikari.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		DatabaseGateProperties properties = new DatabaseGateProperties();
+		properties.setQueueTimeout(QUEUE_TIMEOUT);
+		DataSource dataSource = GatedDataSource.gate(hikari, "primary", properties, meterRegistry);
+
+		int checkouts = 0;
+		while (checkouts < 100) {
+			try {
+				dataSource.getConnection();
+			} catch (DatabaseGateTimeoutException e) {
+				break;
+			}
+			checkouts++;
+		}
+		return checkouts;
+	}
+
+	@Test
+	void otherDataSourcesWithoutALimitAreNotGated() {
+		DataSource dataSource = GatedDataSource.gate(target, "primary", new DatabaseGateProperties(), meterRegistry);
+
+		assertThat(dataSource).isSameAs(target);
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.swiftcart.product_service.controller;
+
+import com.swiftcart.product_service.cache.ProductPayload;
+import com.swiftcart.product_service.dto.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponsesTest {
+
+	private static final long LAST_MODIFIED = 1_700_000_000_000L;
+	private static final ResourceVersion VERSION = new ResourceVersion("p1.a.b", LAST_MODIFIED);
+
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		request = new MockHttpServletRequest("GET", "/api/v1/products/1");
+		response = new MockHttpServletResponse();
+	}
+
+	private ServletWebRequest webRequest() {
+		return new ServletWebRequest(request, response);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"gzip", "GZIP", "x-gzip", "deflate, gzip;q=0.5", "gzip;Q=0.1", "*", "br;q=1, *;q=0.2",
+			"gzip;q=0, gzip;q=0.4"})
+	void gzipIsAccepted(String acceptEncoding) {
+		assertThat(ConditionalResponses.acceptsGzip(acceptEncoding)).isTrue();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "identity", "br, deflate", "gzip;q=0", "gzip;q=0.000", "gzip;q=0, *", "*;q=0",
+			"gzip;q=high"})
+	void gzipIsRefused(String acceptEncoding) {
+		assertThat(ConditionalResponses.acceptsGzip(acceptEncoding)).isFalse();
+	}
+
+	@Test
+	void missingAcceptEncodingRefusesGzip() {
+		assertThat(ConditionalResponses.acceptsGzip(null)).isFalse();
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', nullValues = "null", value = {
+			"null | null",
+			"application/json | null",
+			"*/* | null",
+			"application/cbor | cbor",
+			"application/x-jackson-smile | smile",
+			"text/html, application/cbor | cbor",
+			"application/json;q=0.5, application/cbor | cbor",
+			"application/cbor;q=0.5, application/json | null",
+			"application/cbor;q=0, application/json | null",
+			"application/x-jackson-smile;q=0.9, application/cbor | cbor",
+			"application/*, application/x-jackson-smile | smile",
+			"not a media type | null"
+	})
+	void formatVariantFollowsQualityThenSpecificity(String accept, String variant) {
+		if (accept != null) {
+			request.addHeader(HttpHeaders.ACCEPT, accept);
+		}
+
+		assertThat(ConditionalResponses.formatVariant(webRequest())).isEqualTo(variant);
+	}
+
+	@Test
+	void matchingEntityTagIsNotModified() {
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"p1.a.b\"");
+
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isTrue();
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+	}
+
+	@Test
+	void otherEntityTagIsModified() {
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"p1.a.c\"");
+
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isFalse();
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+	}
+
+	@Test
+	void binaryVariantOnlyMatchesItsOwnTag() {
+		request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"p1.a.b\"");
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isFalse();
+
+		setUp();
+		request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"p1.a.b-cbor\"");
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isTrue();
+	}
+
+	@Test
+	void ifModifiedSinceIsComparedWithTheLastModifiedTime() {
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isTrue();
+
+		setUp();
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED - 60_000);
+		assertThat(ConditionalResponses.isNotModified(webRequest(), VERSION)).isFalse();
+	}
+
+	@Test
+	void ifModifiedSinceIsIgnoredWithoutALastModifiedTime() {
+		request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+
+		assertThat(ConditionalResponses.isNotModified(webRequest(), new ResourceVersion("ra1.0", -1))).isFalse();
+	}
+
+	@Test
+	void okSendsTheValidators() {
+		ResponseEntity<String> withLastModified = ConditionalResponses.ok("body", VERSION);
+		ResponseEntity<String> tagOnly = ConditionalResponses.ok("body", new ResourceVersion("ra1.0", -1));
+
+		assertThat(withLastModified.getHeaders().getETag()).isEqualTo("\"p1.a.b\"");
+		assertThat(withLastModified.getHeaders().getLastModified()).isEqualTo(LAST_MODIFIED);
+		assertThat(tagOnly.getHeaders().getETag()).isEqualTo("\"ra1.0\"");
+		assertThat(tagOnly.getHeaders().containsKey(HttpHeaders.LAST_MODIFIED)).isFalse();
+	}
+
+	@Test
+	void gzipPayloadCarriesItsOwnTag() {
+		ProductPayload payload = new ProductPayload("{\"productId\":1}".getBytes(StandardCharsets.UTF_8), VERSION);
+
+		ResponseEntity<byte[]> plain = ConditionalResponses.ok(payload, false);
+		ResponseEntity<byte[]> gzip = ConditionalResponses.ok(payload, true);
+
+		assertThat(plain.getBody()).isSameAs(payload.getJson());
+		assertThat(plain.getHeaders().getETag()).isEqualTo("\"p1.a.b\"");
+		assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+		assertThat(gzip.getBody()).isSameAs(payload.getGzip());
+		assertThat(gzip.getHeaders().getETag()).isEqualTo("\"p1.a.b-gz\"");
+		assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(gzip.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.swiftcart.product_service.controller;
+
+import com.swiftcart.product_service.config.DatabaseGateTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RestExceptionHandlerTest {
+
+	private final RestExceptionHandler handler = new RestExceptionHandler();
+
+	@Test
+	void gateTimeoutBehindATransactionFailureIsServiceUnavailable() {
+		CannotCreateTransactionException e = new CannotCreateTransactionException("Could not open JPA EntityManager",
+				new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection", new DatabaseGateTimeoutException("busy")));
+
+		ResponseEntity<ProblemDetail> response = handler.handleDataAccessFailure(e);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(response.getBody().getStatus()).isEqualTo(503);
+	}
+
+	@Test
+	void gateTimeoutFromJdbcTemplateIsServiceUnavailable() {
+		CannotGetJdbcConnectionException e = new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection",
+				new DatabaseGateTimeoutException("busy"));
+
+		assertThat(handler.handleDataAccessFailure(e).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@Test
+	void otherDataAccessFailuresAreRethrown() {
+		DataAccessResourceFailureException e = new DataAccessResourceFailureException("connection refused");
+
+		assertThatThrownBy(() -> handler.handleDataAccessFailure(e)).isSameAs(e);
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.RatingUpsertResult;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RatingUpsertRepositoryTest {
+
+	private static final long CUSTOMER_ID = 7L;
+
+	@Autowired
+	private RatingUpsertRepository ratingUpsertRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long productId;
+
+	@BeforeEach
+	void setUp() {
+		productId = jdbcTemplate.queryForObject("""
+				INSERT INTO products (product_id, name, description, category, image_url, price, available, created_at, version)
+				VALUES (nextval('products_seq'), ?, 'd', 'c', 'x', 1.00, true, localtimestamp, 0) RETURNING product_id
+				""", Long.class, "Upsert test " + UUID.randomUUID());
+	}
+
+	private Integer storedStarRating() {
+		return jdbcTemplate.queryForObject("SELECT star_rating FROM ratings WHERE product_id = ? AND customer_id = ?",
+				Integer.class, productId, CUSTOMER_ID);
+	}
+
+	@Test
+	void createsThenUpdatesThenLeavesAnIdenticalRatingUnchanged() {
+		LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+		RatingUpsertResult created = ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 3).orElseThrow();
+		RatingUpsertResult updated = ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 5).orElseThrow();
+		RatingUpsertResult unchanged = ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 5).orElseThrow();
+
+		assertThat(created.getOutcome()).isEqualTo(UpsertOutcome.CREATED);
+		assertThat(created.getRating().getStarRating()).isEqualTo(3);
+		assertThat(updated.getOutcome()).isEqualTo(UpsertOutcome.UPDATED);
+		assertThat(updated.getPreviousStarRating()).isEqualTo(3);
+		assertThat(updated.getRating().getRatingId()).isEqualTo(created.getRating().getRatingId());
+		assertThat(unchanged.getOutcome()).isEqualTo(UpsertOutcome.UNCHANGED);
+		assertThat(unchanged.getRating().getStarRating()).isEqualTo(5);
+		assertThat(unchanged.getRating().getVersion()).isEqualTo(updated.getRating().getVersion());
+		assertThat(jdbcTemplate.queryForObject("SELECT created_at FROM ratings WHERE product_id = ?", LocalDateTime.class, productId))
+				.isAfterOrEqualTo(before);
+	}
+
+	@Test
+	void deletedProductWithAnExistingRatingIsEmptyAndKeepsTheStoredRating() {
+		ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 2);
+		jdbcTemplate.update("UPDATE products SET deleted_at = localtimestamp WHERE product_id = ?", productId);
+
+		Optional<RatingUpsertResult> result = ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 4);
+
+		assertThat(result).isEmpty();
+		assertThat(storedStarRating()).isEqualTo(2);
+	}
+
+	@Test
+	void missingProductIsEmpty() {
+		jdbcTemplate.update("DELETE FROM products WHERE product_id = ?", productId);
+
+		assertThat(ratingUpsertRepository.upsert(productId, CUSTOMER_ID, 4)).isEmpty();
+	}
+
+}
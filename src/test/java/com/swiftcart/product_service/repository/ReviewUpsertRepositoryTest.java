@@ -0,0 +1,68 @@
+package com.swiftcart.product_service.repository;
+
+import com.swiftcart.product_service.dto.ReviewUpsertResult;
+import com.swiftcart.product_service.enums.UpsertOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ReviewUpsertRepositoryTest {
+
+	private static final long CUSTOMER_ID = 7L;
+
+	@Autowired
+	private ReviewUpsertRepository reviewUpsertRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long productId;
+
+	@BeforeEach
+	void setUp() {
+		productId = jdbcTemplate.queryForObject("""
+				INSERT INTO products (product_id, name, description, category, image_url, price, available, created_at, version)
+				VALUES (nextval('products_seq'), ?, 'd', 'c', 'x', 1.00, true, localtimestamp, 0) RETURNING product_id
+				""", Long.class, "Upsert test " + UUID.randomUUID());
+	}
+
+	@Test
+	void createsThenUpdatesThenLeavesIdenticalTextUnchanged() {
+		LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+		ReviewUpsertResult created = reviewUpsertRepository.upsert(productId, CUSTOMER_ID, "Good").orElseThrow();
+		ReviewUpsertResult updated = reviewUpsertRepository.upsert(productId, CUSTOMER_ID, "Great").orElseThrow();
+		ReviewUpsertResult unchanged = reviewUpsertRepository.upsert(productId, CUSTOMER_ID, "Great").orElseThrow();
+
+		assertThat(created.getOutcome()).isEqualTo(UpsertOutcome.CREATED);
+		assertThat(created.getReview().getCreatedAt()).isAfterOrEqualTo(before);
+		assertThat(updated.getOutcome()).isEqualTo(UpsertOutcome.UPDATED);
+		assertThat(updated.getReview().getReviewText()).isEqualTo("Great");
+		assertThat(updated.getReview().getCreatedAt()).isEqualTo(created.getReview().getCreatedAt());
+		assertThat(unchanged.getOutcome()).isEqualTo(UpsertOutcome.UNCHANGED);
+		assertThat(unchanged.getReview().getReviewText()).isEqualTo("Great");
+		assertThat(unchanged.getReview().getVersion()).isEqualTo(updated.getReview().getVersion());
+	}
+
+	@Test
+	void deletedProductWithAnExistingReviewIsEmptyAndKeepsTheStoredText() {
+		reviewUpsertRepository.upsert(productId, CUSTOMER_ID, "Good");
+		jdbcTemplate.update("UPDATE products SET deleted_at = localtimestamp WHERE product_id = ?", productId);
+
+		assertThat(reviewUpsertRepository.upsert(productId, CUSTOMER_ID, "Changed")).isEmpty();
+		assertThat(jdbcTemplate.queryForObject("SELECT review_text FROM reviews WHERE product_id = ? AND customer_id = ?",
+				String.class, productId, CUSTOMER_ID)).isEqualTo("Good");
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.swiftcart.product_service.service;
+
+import com.swiftcart.product_service.dto.ReviewCursor;
+import org.apache.kafka.common.errors.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+	private final CursorCodec codec = new CursorCodec(Jackson2ObjectMapperBuilder.json().build());
+
+	private static String encoded(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void decodesWhatItEncodes() {
+		LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_456_000);
+
+		ReviewCursor decoded = codec.decode(codec.encode(new ReviewCursor(createdAt, 42L)), ReviewCursor.class);
+
+		assertThat(decoded.getLastCreatedAt()).isEqualTo(createdAt);
+		assertThat(decoded.getLastReviewId()).isEqualTo(42L);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "%%%", "not+base64/", "eyJsYXN0UmV2aWV3SWQiOjQy", "bm90IGpzb24"})
+	void malformedTokensAreInvalidRequests(String token) {
+		assertThatThrownBy(() -> codec.decode(token, ReviewCursor.class))
+				.isInstanceOf(InvalidRequestException.class)
+				.hasMessage("Invalid cursor: " + token);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"[1,2]", "\"cursor\"", "{\"lastReviewId\":\"abc\"}", "{\"lastCreatedAt\":\"yesterday\"}"})
+	void wellFormedJsonOfTheWrongShapeIsAnInvalidRequest(String json) {
+		assertThatThrownBy(() -> codec.decode(encoded(json), ReviewCursor.class))
+				.isInstanceOf(InvalidRequestException.class);
+	}
+
+}